@@ -10,34 +10,64 @@ import { Button } from '@/components/ui/button';
 interface Resume {
     resumeId: string;
     title: string;
-    content: string;
+    preview: string | null;
+    contentLength: number | null;
     createdAt: string;
 }
 
+const PAGE_SIZE = 20;
+
 export default function ResumeHistoryPage() {
   const [resumes, setResumes] = useState<Resume[]>([]);
   const [loading, setLoading] = useState<boolean>(true);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState<boolean>(false);
+  const [fullContent, setFullContent] = useState<Record<string, string>>({});
   const [expandedResumes, setExpandedResumes] = useState<Set<string>>(new Set());
   const paragraphRefs = useRef<Record<string, HTMLParagraphElement | null>>({});
   const [overflowingResumes, setOverflowingResumes] = useState<Set<string>>(new Set());
   const { showError } = useToast();
 
-  async function fetchResumeHistory() {
+  async function fetchResumeHistory(before?: string) {
     try {
-      const response = await fetch('http://localhost:8080/api/resumes/upload/history', {
+      const params = new URLSearchParams({ size: String(PAGE_SIZE) });
+      if (before) params.set('before', before);
+      const response = await fetch(`http://localhost:8080/api/resumes/upload/history/page?${params}`, {
         credentials: "include"
       });
       if (!response.ok) throw new Error("Failed to fetch resume history");
       const data = await response.json();
-      setResumes(data || []);
+      const items: Resume[] = data.items || [];
+      setResumes(prev => before ? [...prev, ...items] : items);
+      setNextCursor(data.nextCursor != null ? String(data.nextCursor) : null);
     } catch (err) {
       if (err instanceof Error) showError(err.message);
       else showError("An unknown error occurred");
     } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
   }
 
+  // The history only carries a preview; load the full text the first time a resume is expanded
+  async function fetchFullContent(resumeId: string) {
+    try {
+      const response = await fetch(`http://localhost:8080/api/resumes/upload/${resumeId}/content`, {
+        credentials: "include"
+      });
+      if (!response.ok) throw new Error("Failed to load resume text");
+      const data = await response.json();
+      setFullContent(prev => ({ ...prev, [resumeId]: data.content }));
+    } catch (err) {
+      if (err instanceof Error) showError(err.message);
+      else showError("Failed to load resume text");
+    }
+  }
+
+  function isTruncated(resume: Resume) {
+    return (resume.contentLength ?? 0) > (resume.preview?.length ?? 0);
+  }
+
   useEffect(() => {
     fetchResumeHistory();
   }, []);
@@ -120,9 +150,11 @@ export default function ResumeHistoryPage() {
                       !expandedResumes.has(resume.resumeId) ? 'line-clamp-4' : ''
                     }`}
                   >
-                    {resume.content}
+                    {expandedResumes.has(resume.resumeId)
+                      ? (fullContent[resume.resumeId] ?? resume.preview)
+                      : (resume.preview ?? '').trim()}
                   </p>
-                  {overflowingResumes.has(resume.resumeId) && (
+                  {(overflowingResumes.has(resume.resumeId) || isTruncated(resume)) && (
                     <Button
                       variant="link"
                       className="p-0 h-auto text-sm mt-2"
@@ -132,6 +164,9 @@ export default function ResumeHistoryPage() {
                           newExpanded.delete(resume.resumeId);
                         } else {
                           newExpanded.add(resume.resumeId);
+                          if (isTruncated(resume) && !(resume.resumeId in fullContent)) {
+                            fetchFullContent(resume.resumeId);
+                          }
                         }
                         setExpandedResumes(newExpanded);
                       }}
@@ -150,6 +185,20 @@ export default function ResumeHistoryPage() {
                 </CardFooter>
               </Card>
             ))}
+            {nextCursor && (
+              <div className="flex justify-center">
+                <Button
+                  variant="outline"
+                  disabled={loadingMore}
+                  onClick={() => {
+                    setLoadingMore(true);
+                    fetchResumeHistory(nextCursor);
+                  }}
+                >
+                  {loadingMore ? 'Loading...' : 'Load more'}
+                </Button>
+              </div>
+            )}
           </div>
         )}
       </div>
@@ -31,7 +31,7 @@ interface StatusDialogProps {
 
 export function StatusDialog({ open, onOpenChange }: StatusDialogProps) {
   const [statuses, setStatuses] = useState<Status[]>([]);
-  const { activeProcesses } = useResumeProcessing();
+  const { lastStatusEvent } = useResumeProcessing();
   const { showError } = useToast();
 
   const fetchStatuses = async () => {
@@ -48,19 +48,23 @@ export function StatusDialog({ open, onOpenChange }: StatusDialogProps) {
     }
   };
 
-  // Poll for status updates when dialog is open and there are active processes
+  // Fetch once when the dialog opens; later changes arrive over the status stream
   useEffect(() => {
     if (!open) return;
-
-    // Initial fetch
     fetchStatuses();
+  }, [open]);
 
-    // Only poll if there are active processes
-    if (activeProcesses.length > 0) {
-      const interval = setInterval(fetchStatuses, 2000);
-      return () => clearInterval(interval);
-    }
-  }, [open, activeProcesses]);
+  useEffect(() => {
+    if (!open || !lastStatusEvent) return;
+    setStatuses(prev => {
+      const event = { ...lastStatusEvent, id: String(lastStatusEvent.id) } as Status;
+      const index = prev.findIndex(s => String(s.id) === event.id);
+      if (index === -1) return [event, ...prev];
+      const next = [...prev];
+      next[index] = event;
+      return next;
+    });
+  }, [open, lastStatusEvent]);
 
   const getStatusIcon = (status: Status["status"]) => {
     switch (status) {
@@ -1,6 +1,6 @@
 "use client";
 
-import React, { createContext, useContext, useEffect, useState, useCallback } from 'react';
+import React, { createContext, useContext, useEffect, useState, useCallback, useRef } from 'react';
 import { useToast } from './ToastProvider';
 
 interface ActiveProcess {
@@ -8,8 +8,22 @@ interface ActiveProcess {
   type: 'generate' | 'upload' | 'freeform';
 }
 
+export interface StatusEvent {
+  id: number;
+  type: 'UPLOADED_RESUME' | 'GENERATED_RESUME' | 'FREEFORM_ENTRY';
+  resumeName?: string;
+  jobTitle?: string;
+  jobId?: number;
+  careerId?: number;
+  status: 'PENDING' | 'PROCESSING' | 'COMPLETED' | 'FAILED';
+  startedAt: string;
+  completedAt?: string;
+  error?: string;
+}
+
 interface ResumeProcessingContextType {
   activeProcesses: ActiveProcess[];
+  lastStatusEvent: StatusEvent | null;
   addActiveProcess: (id: number, type: 'generate' | 'upload' | 'freeform') => void;
   removeActiveProcess: (id: number) => void;
 }
@@ -18,6 +32,9 @@ const ResumeProcessingContext = createContext<ResumeProcessingContextType | unde
 
 export function ResumeProcessingProvider({ children }: { children: React.ReactNode }) {
     const [activeProcesses, setActiveProcesses] = useState<ActiveProcess[]>([]);
+    const [lastStatusEvent, setLastStatusEvent] = useState<StatusEvent | null>(null);
+    const activeProcessesRef = useRef<ActiveProcess[]>([]);
+    activeProcessesRef.current = activeProcesses;
     const { showSuccess, showError } = useToast();
 
     const addActiveProcess = useCallback((id: number, type: 'generate' | 'upload' | 'freeform') => {
@@ -28,14 +45,63 @@ export function ResumeProcessingProvider({ children }: { children: React.ReactNo
         setActiveProcesses(prev => prev.filter(process => process.id !== id));
     }, []);
 
-    // Poll for status updates
+    const handleStatus = useCallback((process: ActiveProcess, status: { status: string; error?: string }) => {
+        if (status.status === 'COMPLETED') {
+            let message = '';
+            
+            switch (process.type) {
+                case 'generate':
+                message = 'Resume generation completed successfully!';
+                break;
+                case 'upload':
+                message = 'Resume upload processed successfully!';
+                break;
+                case 'freeform':
+                message = 'Freeform entry processed successfully!';
+                break;
+                default:
+                message = 'Process completed successfully!';
+            }
+            showSuccess(message);
+            removeActiveProcess(process.id);
+        } else if (status.status === 'FAILED') {
+            showError(status.error || 'Processing failed');
+            removeActiveProcess(process.id);
+        }
+    }, [showSuccess, showError, removeActiveProcess]);
+
+    const hasActiveProcesses = activeProcesses.length > 0;
+
+    // Status transitions are pushed over SSE while anything is in flight; the browser
+    // reconnects on its own and the server replays missed events from Last-Event-ID
+    useEffect(() => {
+        if (!hasActiveProcesses) return;
+
+        const source = new EventSource('http://localhost:8080/api/resumes/status/stream', {
+            withCredentials: true
+        });
+        source.addEventListener('status', (event) => {
+            const status: StatusEvent = JSON.parse((event as MessageEvent).data);
+            setLastStatusEvent(status);
+            const process = activeProcessesRef.current.find(p => p.id === status.id);
+            if (process) {
+                handleStatus(process, status);
+            }
+        });
+        source.onerror = (error) => {
+            console.error('Status stream error:', error);
+        };
+
+        return () => source.close();
+    }, [hasActiveProcesses, handleStatus]);
+
+    // One-off check when a process is added, in case it finished before the stream opened
     useEffect(() => {
         if (activeProcesses.length === 0) return;
 
         const checkStatuses = async () => {
             for (const process of activeProcesses) {
                 try {
-                    console.log("Fetching", process.id)
                     const response = await fetch(`http://localhost:8080/api/resumes/status/${process.id}`, {
                         credentials: 'include'
                     });
@@ -44,47 +110,20 @@ export function ResumeProcessingProvider({ children }: { children: React.ReactNo
                         throw new Error('Failed to fetch status');
                     }
 
-                    const status = await response.json();
-                    
-                    if (status.status === 'COMPLETED') {
-                        let message = '';
-                        
-                        switch (process.type) {
-                            case 'generate':
-                            message = 'Resume generation completed successfully!';
-                            break;
-                            case 'upload':
-                            message = 'Resume upload processed successfully!';
-                            break;
-                            case 'freeform':
-                            message = 'Freeform entry processed successfully!';
-                            break;
-                            default:
-                            message = 'Process completed successfully!';
-                        }
-                        showSuccess(message);
-                        removeActiveProcess(process.id);
-                    } else if (status.status === 'FAILED') {
-                        showError(status.error || 'Processing failed');
-                        removeActiveProcess(process.id);
-                    }
+                    handleStatus(process, await response.json());
                 } catch (error) {
                     console.error('Error checking status:', error);
-                    // Don't remove the process on network errors, let it retry
                 }
             }
         };
 
-        // Check immediately and then every 2 seconds
         checkStatuses();
-        const interval = setInterval(checkStatuses, 2000);
-
-        return () => clearInterval(interval);
-    }, [activeProcesses, showSuccess, showError, removeActiveProcess]);
+    }, [activeProcesses, handleStatus]);
 
     return (
         <ResumeProcessingContext.Provider value={{ 
             activeProcesses,
+            lastStatusEvent,
             addActiveProcess,
             removeActiveProcess
         }}>
@@ -1,13 +1,114 @@
 package ninjas.cs490Project.config;
 
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+
+/**
+ * Resume work is split into separate, bounded pools so a burst of GPT responses
+ * cannot starve Tika extraction or database writes (and vice versa). GPT calls
+ * themselves hold no thread: LlmClient is non-blocking, and how many are in flight
+ * is capped by its connection pool (gpt.client.max-connections, with
+ * gpt.client.pending-acquire-max-count waiting for a connection).
+ * Queue depth, active threads and pool size are published by Actuator for
+ * every ThreadPoolTaskExecutor bean; task latency is recorded by the decorator.
+ */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
-    // Additional async configuration can go here if needed.
-}
 
+    public static final String EXTRACTION_EXECUTOR = "extractionExecutor";
+    public static final String LLM_EXECUTOR = "llmExecutor";
+    public static final String PERSISTENCE_EXECUTOR = "persistenceExecutor";
+
+    // CPU-bound Tika parsing
+    @Bean(name = EXTRACTION_EXECUTOR)
+    public ThreadPoolTaskExecutor extractionExecutor(MeterRegistry meterRegistry,
+                                                     @Value("${resume.async.extraction.core-size:2}") int coreSize,
+                                                     @Value("${resume.async.extraction.max-size:4}") int maxSize,
+                                                     @Value("${resume.async.extraction.queue-capacity:50}") int queueCapacity) {
+        return buildExecutor("extraction", coreSize, maxSize, queueCapacity, meterRegistry);
+    }
+
+    // Decoding of GPT responses, handed over by LlmClient; nothing here waits on the model, so neither
+    // mode nor max-in-flight limits GPT concurrency. "virtual" runs each task on its own virtual thread
+    @Bean(name = LLM_EXECUTOR)
+    public AsyncTaskExecutor llmExecutor(MeterRegistry meterRegistry,
+                                         @Value("${resume.async.llm.mode:virtual}") String mode,
+                                         @Value("${resume.async.llm.max-in-flight:2000}") int maxInFlight,
+                                         @Value("${resume.async.llm.core-size:8}") int coreSize,
+                                         @Value("${resume.async.llm.max-size:32}") int maxSize,
+                                         @Value("${resume.async.llm.queue-capacity:200}") int queueCapacity) {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor(maxInFlight);
+            executor.setTaskDecorator(timingDecorator("llm", meterRegistry));
+            Gauge.builder("resume.async.in.flight", executor, VirtualThreadTaskExecutor::getInFlightCount)
+                    .description("Tasks currently running on virtual threads")
+                    .tag("executor", "llm")
+                    .register(meterRegistry);
+            return executor;
+        }
+        return buildExecutor("llm", coreSize, maxSize, queueCapacity, meterRegistry);
+    }
+
+    // Short JPA writes of parsed results
+    @Bean(name = PERSISTENCE_EXECUTOR)
+    public ThreadPoolTaskExecutor persistenceExecutor(MeterRegistry meterRegistry,
+                                                      @Value("${resume.async.persistence.core-size:2}") int coreSize,
+                                                      @Value("${resume.async.persistence.max-size:4}") int maxSize,
+                                                      @Value("${resume.async.persistence.queue-capacity:200}") int queueCapacity) {
+        return buildExecutor("persistence", coreSize, maxSize, queueCapacity, meterRegistry);
+    }
+
+    private ThreadPoolTaskExecutor buildExecutor(String name, int coreSize, int maxSize, int queueCapacity,
+                                                 MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(Math.max(coreSize, maxSize));
+        executor.setQueueCapacity(queueCapacity);
+        // Reject instead of running on the caller or dropping; callers mark the ProcessingStatus as FAILED
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(timingDecorator(name, meterRegistry));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    private TaskDecorator timingDecorator(String name, MeterRegistry meterRegistry) {
+        Timer queueWait = Timer.builder("resume.async.queue.wait")
+                .description("Time a task spent queued before a worker picked it up")
+                .tag("executor", name)
+                .register(meterRegistry);
+        Timer execution = Timer.builder("resume.async.task.duration")
+                .description("Time a task spent running on a worker")
+                .tag("executor", name)
+                .register(meterRegistry);
+
+        return task -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    execution.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package ninjas.cs490Project.config;
+
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs each task on its own virtual thread, so a task that blocks parks instead of
+ * holding an OS thread. There is no queue; once maxInFlight tasks
+ * are running, new submissions are rejected just like a full ThreadPoolTaskExecutor.
+ */
+public class VirtualThreadTaskExecutor extends TaskExecutorAdapter implements AutoCloseable {
+
+    private final BoundedExecutor boundedExecutor;
+
+    public VirtualThreadTaskExecutor(int maxInFlight) {
+        this(new BoundedExecutor(Executors.newVirtualThreadPerTaskExecutor(), maxInFlight));
+    }
+
+    private VirtualThreadTaskExecutor(BoundedExecutor boundedExecutor) {
+        super(boundedExecutor);
+        this.boundedExecutor = boundedExecutor;
+    }
+
+    public int getInFlightCount() {
+        return boundedExecutor.maxInFlight - boundedExecutor.permits.availablePermits();
+    }
+
+    public int getMaxInFlight() {
+        return boundedExecutor.maxInFlight;
+    }
+
+    @Override
+    public void close() {
+        boundedExecutor.delegate.close();
+    }
+
+    private static class BoundedExecutor implements Executor {
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+        private final int maxInFlight;
+
+        BoundedExecutor(ExecutorService delegate, int maxInFlight) {
+            this.delegate = delegate;
+            this.maxInFlight = maxInFlight;
+            this.permits = new Semaphore(maxInFlight);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (!permits.tryAcquire()) {
+                throw new RejectedExecutionException("More than " + maxInFlight + " tasks in flight");
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+}
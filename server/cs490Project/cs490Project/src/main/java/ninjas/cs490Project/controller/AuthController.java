@@ -1,6 +1,7 @@
 package ninjas.cs490Project.controller;
 
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -8,6 +9,8 @@ import ninjas.cs490Project.entity.EmailVerificationToken;
 import ninjas.cs490Project.entity.User;
 import ninjas.cs490Project.repository.EmailVerificationTokenRepository;
 import ninjas.cs490Project.repository.UserRepository;
+import ninjas.cs490Project.security.AuthenticatedUser;
+import ninjas.cs490Project.service.AuthenticatedUserCache;
 import ninjas.cs490Project.service.JWTService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -36,6 +39,9 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+
 
     @Autowired
     private JWTService jwtService;
@@ -59,6 +65,7 @@ public class AuthController {
         User user = verificationToken.getUser();
         user.setIsVerified(true);
         userRepository.save(user);
+        authenticatedUserCache.evict(user.getEmail());
         tokenRepository.delete(verificationToken);
         response.sendRedirect("http://localhost:3000/login?verified=true");
     }
@@ -101,15 +108,19 @@ public class AuthController {
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser(HttpServletRequest request) {
         String token = extractTokenFromCookies(request);
-        if (token != null && jwtService.validateToken(token)) {
-            String email = jwtService.extractUsername(token);
-            User user = userRepository.findByEmail(email);
+        Claims claims = token != null ? jwtService.verify(token).orElse(null) : null;
+        if (claims != null) {
+            String email = claims.getSubject();
+            AuthenticatedUser user = authenticatedUserCache.get(email).orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(401).body("Not authenticated");
+            }
             Map <String, String> userData = new HashMap<>();
-            userData.put("id", String.valueOf(user.getId()));
-            userData.put("email", user.getUsername());
-            userData.put("firstName", user.getFirstName());
-            userData.put("lastName", user.getLastName());
-            userData.put("profilePictureUrl", user.getProfilePictureUrl());
+            userData.put("id", String.valueOf(user.id()));
+            userData.put("email", user.username());
+            userData.put("firstName", user.firstName());
+            userData.put("lastName", user.lastName());
+            userData.put("profilePictureUrl", user.profilePictureUrl());
             return ResponseEntity.ok(userData);
         } else {
             return ResponseEntity.status(401).body("Not authenticated");
@@ -1,9 +1,9 @@
 package ninjas.cs490Project.controller;
 
 import ninjas.cs490Project.entity.User;
-import ninjas.cs490Project.repository.UserRepository;
 import ninjas.cs490Project.service.CareerService;
-import org.springframework.security.core.Authentication;
+import ninjas.cs490Project.security.AuthenticatedUser;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,12 +14,9 @@ import java.util.Map;
 @RequestMapping("/api/resumes/career")
 public class CareerController {
 
-    private final UserRepository userRepository;
     private final CareerService careerService;
 
-    public CareerController(UserRepository userRepository,
-                          CareerService careerService) {
-        this.userRepository = userRepository;
+    public CareerController(CareerService careerService) {
         this.careerService = careerService;
     }
 
@@ -56,8 +53,8 @@ public class CareerController {
 
     // 1. GET all WorkExperience records for a user
     @GetMapping
-    public ResponseEntity<?> getCareerHistory(Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName());
+    public ResponseEntity<?> getCareerHistory(@AuthenticationPrincipal AuthenticatedUser principal) {
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.ok(Map.of("jobs", List.of()));
         }
@@ -66,9 +63,9 @@ public class CareerController {
 
     // 2. CREATE a new WorkExperience record for a user
     @PostMapping
-    public ResponseEntity<?> createCareer(Authentication authentication,
+    public ResponseEntity<?> createCareer(@AuthenticationPrincipal AuthenticatedUser principal,
                                           @RequestBody CareerRequest req) {
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -82,9 +79,9 @@ public class CareerController {
     }
 
     @PostMapping("/freeform")
-    public ResponseEntity<?> createFreeformCareer(Authentication authentication,
+    public ResponseEntity<?> createFreeformCareer(@AuthenticationPrincipal AuthenticatedUser principal,
                                                  @RequestBody Map<String, String> request) {
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -99,10 +96,10 @@ public class CareerController {
 
     // 3. UPDATE an existing WorkExperience record for a user
     @PutMapping("/{jobId}")
-    public ResponseEntity<?> updateCareer(Authentication authentication,
+    public ResponseEntity<?> updateCareer(@AuthenticationPrincipal AuthenticatedUser principal,
                                           @PathVariable("jobId") int jobId,
                                           @RequestBody CareerRequest req) {
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -117,9 +114,9 @@ public class CareerController {
 
     // 4. DELETE an existing WorkExperience record
     @DeleteMapping("/{jobId}")
-    public ResponseEntity<?> deleteCareer(Authentication authentication,
+    public ResponseEntity<?> deleteCareer(@AuthenticationPrincipal AuthenticatedUser principal,
                                           @PathVariable("jobId") int jobId) {
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -133,8 +130,8 @@ public class CareerController {
     }
 
     @GetMapping("/freeform")
-    public ResponseEntity<?> getFreeformCareer(Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName());
+    public ResponseEntity<?> getFreeformCareer(@AuthenticationPrincipal AuthenticatedUser principal) {
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -148,10 +145,10 @@ public class CareerController {
     }
 
     @PutMapping("/freeform/{freeformId}")
-    public ResponseEntity<?> updateFreeformCareer(Authentication authentication,
+    public ResponseEntity<?> updateFreeformCareer(@AuthenticationPrincipal AuthenticatedUser principal,
                                                 @PathVariable("freeformId") int freeformId,
                                                 @RequestBody Map<String, String> request) {
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
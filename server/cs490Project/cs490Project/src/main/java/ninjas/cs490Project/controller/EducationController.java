@@ -1,9 +1,9 @@
 package ninjas.cs490Project.controller;
 
 import ninjas.cs490Project.entity.User;
-import ninjas.cs490Project.repository.UserRepository;
 import ninjas.cs490Project.service.EducationService;
-import org.springframework.security.core.Authentication;
+import ninjas.cs490Project.security.AuthenticatedUser;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,12 +14,9 @@ import java.util.Map;
 @RequestMapping("/api/resumes/education")
 public class EducationController {
 
-    private final UserRepository userRepository;
     private final EducationService educationService;
 
-    public EducationController(UserRepository userRepository,
-                             EducationService educationService) {
-        this.userRepository = userRepository;
+    public EducationController(EducationService educationService) {
         this.educationService = educationService;
     }
 
@@ -60,8 +57,8 @@ public class EducationController {
 
     // 1. GET all education for a user
     @GetMapping
-    public ResponseEntity<?> getAllEducation(Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName());
+    public ResponseEntity<?> getAllEducation(@AuthenticationPrincipal AuthenticatedUser principal) {
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.ok(Map.of("education", List.of()));
         }
@@ -75,9 +72,9 @@ public class EducationController {
 
     // 2. CREATE a new Education record
     @PostMapping
-    public ResponseEntity<?> createEducation(Authentication authentication,
+    public ResponseEntity<?> createEducation(@AuthenticationPrincipal AuthenticatedUser principal,
                                            @RequestBody EducationRequest req) {
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -92,10 +89,10 @@ public class EducationController {
 
     // 3. UPDATE an Education record
     @PutMapping("/{eduId}")
-    public ResponseEntity<?> updateEducation(Authentication authentication,
+    public ResponseEntity<?> updateEducation(@AuthenticationPrincipal AuthenticatedUser principal,
                                            @PathVariable("eduId") int eduId,
                                            @RequestBody EducationRequest req) {
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -110,9 +107,9 @@ public class EducationController {
 
     // 4. DELETE an Education record
     @DeleteMapping("/{eduId}")
-    public ResponseEntity<?> deleteEducation(Authentication authentication,
+    public ResponseEntity<?> deleteEducation(@AuthenticationPrincipal AuthenticatedUser principal,
                                            @PathVariable("eduId") int eduId) {
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
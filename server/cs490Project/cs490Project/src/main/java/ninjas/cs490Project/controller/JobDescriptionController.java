@@ -1,9 +1,10 @@
 package ninjas.cs490Project.controller;
 
 import ninjas.cs490Project.entity.User;
-import ninjas.cs490Project.repository.UserRepository;
 import ninjas.cs490Project.service.JobDescriptionService;
-import org.springframework.security.core.Authentication;
+import ninjas.cs490Project.security.AuthenticatedUser;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,12 +15,9 @@ import java.util.Map;
 @RequestMapping("/api/jobs")
 public class JobDescriptionController {
 
-    private final UserRepository userRepository;
     private final JobDescriptionService jobDescriptionService;
 
-    public JobDescriptionController(UserRepository userRepository,
-                                  JobDescriptionService jobDescriptionService) {
-        this.userRepository = userRepository;
+    public JobDescriptionController(JobDescriptionService jobDescriptionService) {
         this.jobDescriptionService = jobDescriptionService;
     }
 
@@ -45,9 +43,9 @@ public class JobDescriptionController {
     }
 
     @PostMapping("/submit")
-    public ResponseEntity<?> submitJobDescription(Authentication authentication,
+    public ResponseEntity<?> submitJobDescription(@AuthenticationPrincipal AuthenticatedUser principal,
                                                  @RequestBody JobDescriptionRequest jobDescription) {
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -61,8 +59,8 @@ public class JobDescriptionController {
     }
 
     @GetMapping("/history")
-    public ResponseEntity<?> getJobDescriptions(Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName());
+    public ResponseEntity<?> getJobDescriptions(@AuthenticationPrincipal AuthenticatedUser principal) {
+        User user = principal.toUser();
         if (user == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -74,4 +72,21 @@ public class JobDescriptionController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * GET /api/jobs/{jobId}/match
+     * Match score (0-100), matched and missing keywords, and the user's work experience,
+     * education and skill entries ranked by relevance to the job. Computed in-process,
+     * without a GPT call.
+     */
+    @GetMapping("/{jobId}/match")
+    public ResponseEntity<?> getJobMatch(@AuthenticationPrincipal AuthenticatedUser principal,
+                                         @PathVariable Long jobId) {
+        User user = principal.toUser();
+        try {
+            return ResponseEntity.ok(jobDescriptionService.getJobMatch(user, jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
@@ -1,25 +1,21 @@
 package ninjas.cs490Project.controller;
 
-import ninjas.cs490Project.entity.FreeformEntry;
-import ninjas.cs490Project.entity.GeneratedResume;
 import ninjas.cs490Project.entity.ProcessingStatus;
-import ninjas.cs490Project.entity.UploadedResume;
 import ninjas.cs490Project.service.ProcessingStatusService;
-import ninjas.cs490Project.repository.UploadedResumeRepository;
-import ninjas.cs490Project.repository.GeneratedResumeRepository;
-import ninjas.cs490Project.repository.UserRepository;
+import ninjas.cs490Project.service.StatusDisplayNameResolver;
+import ninjas.cs490Project.service.StatusEventHub;
 import ninjas.cs490Project.entity.User;
-import ninjas.cs490Project.repository.FreeformEntryRepository;
+import ninjas.cs490Project.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/resumes/status")
@@ -29,26 +25,20 @@ public class ProcessingStatusController {
     private ProcessingStatusService processingStatusService;
 
     @Autowired
-    private UploadedResumeRepository uploadedResumeRepository;
+    private StatusDisplayNameResolver statusDisplayNameResolver;
 
     @Autowired
-    private GeneratedResumeRepository generatedResumeRepository;
-
-    @Autowired
-    private FreeformEntryRepository freeformEntryRepository;
-
-    @Autowired
-    private UserRepository userRepository;
+    private StatusEventHub statusEventHub;
 
     @GetMapping
     public ResponseEntity<List<Map<String, Object>>> getLatestStatuses(
             @RequestParam(defaultValue = "5") int limit,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         if (limit <= 0 || limit > 100) {
             limit = 5; // Default to 5 if invalid limit is provided
         }
 
-        User currentUser = userRepository.findByEmail(authentication.getName());
+        User currentUser = principal.toUser();
         if (currentUser == null) {
             return ResponseEntity.badRequest().build();
         }
@@ -56,49 +46,42 @@ public class ProcessingStatusController {
         List<ProcessingStatus> statuses = processingStatusService.getLatestStatusesForUser(currentUser, limit);
         List<Map<String, Object>> response = new ArrayList<>();
         
+        // Names for the whole page in one query per type, not one or two per status
+        Map<Long, Map<String, Object>> displayNames = statusDisplayNameResolver.resolve(statuses);
+
         for (ProcessingStatus status : statuses) {
-            Map<String, Object> statusMap = new HashMap<>();
-            statusMap.put("id", status.getId());
-            statusMap.put("type", status.getProcessingType());
-            if (status.getProcessingType() == ProcessingStatus.ProcessingType.UPLOADED_RESUME) {
-                Optional<UploadedResume> uploadedResume = uploadedResumeRepository.findById(status.getEntityId());
-                if (uploadedResume.isPresent()) {
-                    String resumeName = uploadedResume.get().getTitle();
-                    statusMap.put("resumeName", resumeName);
-                }
-            }
-            if (status.getProcessingType() == ProcessingStatus.ProcessingType.GENERATED_RESUME) {
-                Optional<GeneratedResume> generatedResume = generatedResumeRepository.findById(status.getEntityId());
-                if (generatedResume.isPresent()) {
-                    String jobTitleString = generatedResume.get().getJobDescription().getJobTitle();
-                    if (jobTitleString != null) {
-                        statusMap.put("jobTitle", jobTitleString);
-                    } else { // No title, default to ID
-                        statusMap.put("jobId", generatedResume.get().getJobDescription().getId());
-                    }
-                }
-            }
-            if (status.getProcessingType() == ProcessingStatus.ProcessingType.FREEFORM_ENTRY) {
-                Optional<FreeformEntry> freeformEntry = freeformEntryRepository.findById(status.getEntityId().intValue());
-                if (freeformEntry.isPresent() && freeformEntry.get().getWorkExperience() != null) {
-                    Integer careerId = freeformEntry.get().getWorkExperience().getId();
-                    statusMap.put("careerId", careerId);
-                }
-            }
-            statusMap.put("status", status.getStatus());
-            statusMap.put("startedAt", status.getStartedAt());
-            statusMap.put("completedAt", status.getCompletedAt());
-            statusMap.put("error", status.getErrorMessage());
-            response.add(statusMap);
+            response.add(ProcessingStatusService.toPayload(status, displayNames.get(status.getId())));
         }
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/resumes/status/stream
+     * Server-Sent Events stream of this user's status transitions, each named "status"
+     * and shaped like an entry of GET /api/resumes/status. Browsers reconnect on their
+     * own and send Last-Event-ID, and missed events are replayed.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamStatuses(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        User currentUser = principal.toUser();
+        if (currentUser == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(statusEventHub.subscribe(currentUser.getId(), lastEventId));
+        } catch (IllegalStateException e) {
+            // Node is at its stream cap; the client can fall back to polling
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Map<String, Object>> getStatusById(
             @PathVariable Long id,
-            Authentication authentication) {
-        User currentUser = userRepository.findByEmail(authentication.getName());
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        User currentUser = principal.toUser();
         if (currentUser == null) {
             return ResponseEntity.badRequest().build();
         }
@@ -110,13 +93,6 @@ public class ProcessingStatusController {
             return ResponseEntity.notFound().build();
         }
 
-        Map<String, Object> statusMap = new HashMap<>();
-        statusMap.put("id", status.getId());
-        statusMap.put("type", status.getProcessingType());
-        statusMap.put("status", status.getStatus());
-        statusMap.put("startedAt", status.getStartedAt());
-        statusMap.put("completedAt", status.getCompletedAt());
-        statusMap.put("error", status.getErrorMessage());
-        return ResponseEntity.ok(statusMap);
+        return ResponseEntity.ok(ProcessingStatusService.toPayload(status, Map.of()));
     }
 } 
\ No newline at end of file
@@ -4,13 +4,15 @@ import ninjas.cs490Project.entity.Profile;
 import ninjas.cs490Project.entity.User;
 import ninjas.cs490Project.repository.ProfileRepository;
 import ninjas.cs490Project.repository.UserRepository;
+import ninjas.cs490Project.service.AuthenticatedUserCache;
+import ninjas.cs490Project.security.AuthenticatedUser;
 
 import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.dao.DataIntegrityViolationException;
 
@@ -24,10 +26,12 @@ public class ProfileController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+
     @GetMapping
-    public ResponseEntity<?> getProfile(Authentication authentication) {
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email);
+    public ResponseEntity<?> getProfile(@AuthenticationPrincipal AuthenticatedUser principal) {
+        User user = principal.toUser();
         
         Profile profile = profileRepository.findByUser(user);
         
@@ -52,10 +56,11 @@ public class ProfileController {
     @PutMapping
     public ResponseEntity<?> updateProfile(
             @RequestBody Map<String, String> profileUpdate,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            String email = authentication.getName();
-            User user = userRepository.findByEmail(email);
+            // Managed entity, since its fields are updated below
+            User user = userRepository.findById(principal.id())
+                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
             
             Profile existingProfile = profileRepository.findByUser(user);
             
@@ -81,6 +86,7 @@ public class ProfileController {
                 }
             }
             userRepository.save(user);
+            authenticatedUserCache.evict(user.getEmail());
 
             // Update profile fields
             if (profileUpdate.containsKey("phone")) {
@@ -1,93 +1,100 @@
 package ninjas.cs490Project.controller;
 
+import ninjas.cs490Project.dto.UploadedResumeSummary;
 import ninjas.cs490Project.entity.UploadedResume;
 import ninjas.cs490Project.entity.GeneratedResume;
 import ninjas.cs490Project.entity.JobDescription;
 import ninjas.cs490Project.entity.ProcessingStatus;
 import ninjas.cs490Project.entity.User;
-import ninjas.cs490Project.repository.UserRepository;
 import ninjas.cs490Project.repository.JobDescriptionRepository;
 import ninjas.cs490Project.repository.UploadedResumeRepository;
 import ninjas.cs490Project.service.AsyncResumeParser;
-import ninjas.cs490Project.service.ResumeParsingService;
 import ninjas.cs490Project.service.ResumeGenerationService;
+import ninjas.cs490Project.service.ResumeFileService;
+import ninjas.cs490Project.service.ResumeSectionParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ninjas.cs490Project.service.ResumeService;
 import ninjas.cs490Project.service.ProcessingStatusService;
+import ninjas.cs490Project.security.AuthenticatedUser;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/resumes")
 public class ResumeController {
     private static final Logger logger = LoggerFactory.getLogger(ResumeController.class);
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int HISTORY_PREVIEW_LENGTH = 300;
 
-    private final UserRepository userRepository;
     private final JobDescriptionRepository jobDescriptionRepository;
     private final UploadedResumeRepository uploadedResumeRepository;
-    private final ResumeParsingService resumeParsingService;
     private final ResumeGenerationService resumeGenerationService;
     private final AsyncResumeParser asyncResumeParser;
     private final ResumeService resumeService;
     private final ProcessingStatusService processingStatusService;
+    private final ResumeFileService resumeFileService;
+    private final Duration streamTimeout;
 
-    public ResumeController(UserRepository userRepository,
-                          JobDescriptionRepository jobDescriptionRepository,
+    public ResumeController(JobDescriptionRepository jobDescriptionRepository,
                           UploadedResumeRepository uploadedResumeRepository,
-                          ResumeParsingService resumeParsingService,
                           ResumeGenerationService resumeGenerationService,
                           AsyncResumeParser asyncResumeParser,
                           ResumeService resumeService,
-                          ProcessingStatusService processingStatusService) {
-        this.userRepository = userRepository;
+                          ProcessingStatusService processingStatusService,
+                          ResumeFileService resumeFileService,
+                          @Value("${resume.generation.stream.timeout:3m}") Duration streamTimeout) {
         this.jobDescriptionRepository = jobDescriptionRepository;
         this.uploadedResumeRepository = uploadedResumeRepository;
-        this.resumeParsingService = resumeParsingService;
         this.resumeGenerationService = resumeGenerationService;
         this.asyncResumeParser = asyncResumeParser;
         this.resumeService = resumeService;
         this.processingStatusService = processingStatusService;
+        this.resumeFileService = resumeFileService;
+        this.streamTimeout = streamTimeout;
     }
 
     /**
      * POST /api/resumes/upload?userId={userId}
-     * Uploads the file, parses it for text (Tika) and structured info (GPT),
-     * saves a new Resume for the file, and separately persists any
-     * Education or WorkExperience referencing the User.
+     * Stores the uploaded file and returns immediately. Text extraction (Tika)
+     * and structured parsing (GPT) run once in the background, which then
+     * persists any Education or WorkExperience referencing the User.
      */
     @PostMapping("/upload")
     public ResponseEntity<?> uploadResume(@RequestParam("file") MultipartFile file,
-                                        Authentication authentication) {
+                                        @AuthenticationPrincipal AuthenticatedUser principal) {
         if (file.isEmpty()) {
             logger.warn("Attempted to upload an empty file.");
             return ResponseEntity.badRequest().body("No file selected.");
         }
         try {
-            String email = authentication.getName();
-            User currentUser = userRepository.findByEmail(email);
+            User currentUser = principal.toUser();
             if (currentUser == null) {
                 logger.error("User not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
             }
 
-            // Extract text via Tika and parse key information via GPT
-            String extractedText = resumeParsingService.extractTextFromFile(file);
-
-            // Create and save a new UploadedResume entity
+            // Create and save a new UploadedResume entity; content is filled in by the parser
             UploadedResume resume = new UploadedResume();
             resume.setTitle(file.getOriginalFilename());
-            resume.setContent(extractedText);
-            resume.setFileData(file.getBytes());
+            // Streamed to the BlobStore; the file is never buffered whole in memory
+            resumeFileService.store(resume, file);
             resume.setCreatedAt(Instant.now());
             resume.setUpdatedAt(Instant.now());
             resume.setUser(currentUser);
@@ -120,9 +127,8 @@ public class ResumeController {
     }
 
     @GetMapping("/upload/history")
-    public ResponseEntity<?> getUploadHistory(Authentication authentication) {
-        String email = authentication.getName();
-        User currentUser = userRepository.findByEmail(email);
+    public ResponseEntity<?> getUploadHistory(@AuthenticationPrincipal AuthenticatedUser principal) {
+        User currentUser = principal.toUser();
         if (currentUser == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -142,10 +148,54 @@ public class ResumeController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/resumes/upload/history/page?before={resumeId}&size={size}
+     * Newest-first upload history, one keyset page at a time. Each item carries a
+     * short preview and the content length; pass nextCursor back as before to get
+     * the next page. Full text is served by /upload/{resumeId}/content.
+     */
+    @GetMapping("/upload/history/page")
+    public ResponseEntity<?> getUploadHistoryPage(@RequestParam(value = "before", required = false) Long before,
+                                                  @RequestParam(value = "size", defaultValue = "20") int size,
+                                                  @AuthenticationPrincipal AuthenticatedUser principal) {
+        User currentUser = principal.toUser();
+        if (currentUser == null) {
+            return ResponseEntity.badRequest().body("User not found");
+        }
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(size + 1);
+        List<UploadedResumeSummary> rows = before == null
+                ? uploadedResumeRepository.findSummariesByUser(currentUser, HISTORY_PREVIEW_LENGTH, limit)
+                : uploadedResumeRepository.findSummariesByUserBefore(currentUser, before, HISTORY_PREVIEW_LENGTH, limit);
+
+        boolean hasMore = rows.size() > size;
+        List<UploadedResumeSummary> items = hasMore ? rows.subList(0, size) : rows;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", items);
+        response.put("nextCursor", hasMore ? items.get(items.size() - 1).getResumeId() : null);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/upload/{resumeId}/content")
+    public ResponseEntity<?> getUploadedContent(@PathVariable Long resumeId, @AuthenticationPrincipal AuthenticatedUser principal) {
+        User currentUser = principal.toUser();
+        if (currentUser == null) {
+            return ResponseEntity.badRequest().body("User not found");
+        }
+
+        return uploadedResumeRepository.findContentByIdAndUser(resumeId, currentUser)
+                .<ResponseEntity<?>>map(content -> ResponseEntity.ok(Map.of("resumeId", resumeId, "content", content.trim())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Resume not found"));
+    }
+
     @GetMapping("/generate/history")
-    public ResponseEntity<?> getGeneratedHistory(Authentication authentication) {
-        String email = authentication.getName();
-        User currentUser = userRepository.findByEmail(email);
+    public ResponseEntity<?> getGeneratedHistory(@AuthenticationPrincipal AuthenticatedUser principal) {
+        User currentUser = principal.toUser();
         if (currentUser == null) {
             return ResponseEntity.badRequest().body("User not found");
         }
@@ -167,30 +217,36 @@ public class ResumeController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/resumes/upload/{resumeId}/original
+     * Streams the original file from storage. Spring answers Range requests with 206
+     * and If-None-Match against the content-hash ETag with 304; file metadata is
+     * cached, so repeat and conditional downloads do not query the database.
+     */
     @GetMapping("/upload/{resumeId}/original")
-    public ResponseEntity<?> getOriginalFile(@PathVariable Long resumeId, Authentication authentication) {
+    public ResponseEntity<?> getOriginalFile(@PathVariable Long resumeId, @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            String email = authentication.getName();
-            User currentUser = userRepository.findByEmail(email);
-            if (currentUser == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
-            }
-
-            UploadedResume resume = uploadedResumeRepository.findById(resumeId)
+            ResumeFileService.StoredFile file = resumeFileService.find(resumeId)
                 .orElseThrow(() -> new IllegalArgumentException("Resume not found"));
 
             // Check if the current user owns this resume
-            if (resume.getUser().getId() != currentUser.getId()) {
+            if (!file.ownerEmail().equals(principal.getName())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You don't have permission to access this file");
             }
 
-            // Set up response headers for file download
+            // Set up response headers for file download; the body is streamed from storage
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment", resume.getTitle());
-            headers.setContentLength(resume.getFileData().length);
+            headers.setContentDispositionFormData("attachment", file.title());
+            if (file.contentHash() != null) {
+                // An upload's bytes never change, so the browser may keep them for good
+                headers.setETag("\"" + file.contentHash() + "\"");
+                headers.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable());
+            } else {
+                headers.setCacheControl(CacheControl.noCache().cachePrivate());
+            }
 
-            return new ResponseEntity<>(resume.getFileData(), headers, HttpStatus.OK);
+            return new ResponseEntity<>(resumeFileService.load(file), headers, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving original file: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -212,10 +268,9 @@ public class ResumeController {
 
     @PostMapping("/generate")
     public ResponseEntity<?> generateResume(@RequestBody GenerateResumeRequest request,
-                                          Authentication authentication) {
+                                          @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            String email = authentication.getName();
-            User currentUser = userRepository.findByEmail(email);
+            User currentUser = principal.toUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -232,15 +287,7 @@ public class ResumeController {
                 return ResponseEntity.badRequest().body("User does not have access to this job description");
             }
 
-            // Create a new Resume entity
-            GeneratedResume resume = new GeneratedResume();
-            resume.setCreatedAt(Instant.now());
-            resume.setUpdatedAt(Instant.now());
-            resume.setJobDescription(jobDescription);
-            resume.setUser(currentUser);
-
-            GeneratedResume savedResume = resumeService.storeGeneratedResume(resume);
-            logger.info("Created new resume with id: {}", savedResume.getId());
+            GeneratedResume savedResume = newGeneratedResume(currentUser, jobDescription);
 
             // Create processing status
             ProcessingStatus status = processingStatusService.createProcessingStatus(
@@ -264,4 +311,146 @@ public class ResumeController {
                     .body("Error generating resume: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * POST /api/resumes/generate/stream
+     * Same request as /generate, answered with Server-Sent Events: "started" with the
+     * resumeId and statusId, then "skills", "workExperience" and "education" events as
+     * soon as the model has written each section, then "done" with the stored content,
+     * or "error". The resume is still generated and stored if the client goes away.
+     */
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamResume(@RequestBody GenerateResumeRequest request,
+                                                   @AuthenticationPrincipal AuthenticatedUser principal) {
+        // Typed body, so Spring picks the emitter handler; refusals go out without a body
+        User currentUser = principal.toUser();
+        if (request.getJobId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        JobDescription jobDescription = jobDescriptionRepository.findById(request.getJobId()).orElse(null);
+        if (jobDescription == null || currentUser.getId() != jobDescription.getUser().getId()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        GeneratedResume savedResume = newGeneratedResume(currentUser, jobDescription);
+        ProcessingStatus status = processingStatusService.createProcessingStatus(
+                currentUser, ProcessingStatus.ProcessingType.GENERATED_RESUME, savedResume.getId());
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        EmitterListener listener = new EmitterListener(emitter);
+        listener.send("started", Map.of("resumeId", savedResume.getId(), "statusId", status.getId()));
+        resumeGenerationService.streamResume(currentUser, request.getJobId(), savedResume, status, listener);
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Forwards a streamed generation to the client. Once the client has gone, later
+     * events are dropped; the generation itself is unaffected.
+     */
+    private static final class EmitterListener implements ResumeGenerationService.GenerationListener {
+        private final SseEmitter emitter;
+        private volatile boolean open = true;
+
+        EmitterListener(SseEmitter emitter) {
+            this.emitter = emitter;
+            emitter.onTimeout(() -> open = false);
+            emitter.onError(error -> open = false);
+        }
+
+        @Override
+        public void onSection(ResumeSectionParser.Section section) {
+            send(section.name(), section.value());
+        }
+
+        @Override
+        public void onComplete(GeneratedResume resume) {
+            send("done", Map.of("resumeId", resume.getId(), "content", resume.getContent()));
+            emitter.complete();
+        }
+
+        @Override
+        public void onError(String message) {
+            send("error", Map.of("message", message != null ? message : "Error generating resume"));
+            emitter.complete();
+        }
+
+        void send(String name, Object data) {
+            if (!open) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                open = false;
+            }
+        }
+    }
+
+    private GeneratedResume newGeneratedResume(User user, JobDescription jobDescription) {
+        GeneratedResume resume = new GeneratedResume();
+        resume.setCreatedAt(Instant.now());
+        resume.setUpdatedAt(Instant.now());
+        resume.setJobDescription(jobDescription);
+        resume.setUser(user);
+
+        GeneratedResume savedResume = resumeService.storeGeneratedResume(resume);
+        logger.info("Created new resume with id: {}", savedResume.getId());
+        return savedResume;
+    }
+
+    public static class GenerateBatchRequest {
+        private List<Long> jobIds;
+
+        public List<Long> getJobIds() {
+            return jobIds;
+        }
+
+        public void setJobIds(List<Long> jobIds) {
+            this.jobIds = jobIds;
+        }
+    }
+
+    /**
+     * POST /api/resumes/generate/batch
+     * Starts one generation per job id and returns at once. statusId is the batch's own
+     * status, whose progress counts finished children; each item's statusId can be
+     * polled like a single generation, and every child is pushed to
+     * /api/resumes/status/stream (with parentId set) as soon as it finishes.
+     */
+    @PostMapping("/generate/batch")
+    public ResponseEntity<?> generateResumes(@RequestBody GenerateBatchRequest request,
+                                             @AuthenticationPrincipal AuthenticatedUser principal) {
+        User currentUser = principal.toUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        }
+        if (request.getJobIds() == null) {
+            return ResponseEntity.badRequest().body("jobIds is required");
+        }
+
+        try {
+            ResumeGenerationService.GenerationBatch batch =
+                    resumeGenerationService.startBatch(currentUser, request.getJobIds());
+
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (ResumeGenerationService.BatchItem item : batch.items()) {
+                Map<String, Object> itemMap = new HashMap<>();
+                itemMap.put("jobId", item.jobDescription().getId());
+                itemMap.put("resumeId", item.resume().getId());
+                itemMap.put("statusId", item.status().getId());
+                items.add(itemMap);
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("statusId", batch.status().getId());
+            response.put("items", items);
+            response.put("status", "processing");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error in batch resume generation: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error generating resumes: " + e.getMessage());
+        }
+    }
+}
@@ -3,9 +3,9 @@ package ninjas.cs490Project.controller;
 import ninjas.cs490Project.entity.Skill;
 import ninjas.cs490Project.entity.User;
 import ninjas.cs490Project.service.SkillService;
-import ninjas.cs490Project.repository.UserRepository;
+import ninjas.cs490Project.security.AuthenticatedUser;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,35 +15,33 @@ import java.util.Map;
 @RequestMapping("/api/skills")
 public class SkillController {
     private final SkillService skillService;
-    private final UserRepository userRepository;
 
-    public SkillController(SkillService skillService, UserRepository userRepository) {
+    public SkillController(SkillService skillService) {
         this.skillService = skillService;
-        this.userRepository = userRepository;
     }
 
     @GetMapping
-    public ResponseEntity<List<Skill>> getUserSkills(Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName());
+    public ResponseEntity<List<Skill>> getUserSkills(@AuthenticationPrincipal AuthenticatedUser principal) {
+        User user = principal.toUser();
         return ResponseEntity.ok(skillService.getUserSkills(user));
     }
 
     @PostMapping
-    public ResponseEntity<?> addSkill(@RequestBody Map<String, String> request, Authentication authentication) {
+    public ResponseEntity<?> addSkill(@RequestBody Map<String, String> request, @AuthenticationPrincipal AuthenticatedUser principal) {
         String skillName = request.get("name");
         if (skillName == null || skillName.trim().isEmpty()) {
             return ResponseEntity.badRequest().body("Skill name is required");
         }
 
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         Skill skill = skillService.addSkill(skillName, user);
         return ResponseEntity.ok(skill);
     }
 
     @DeleteMapping("/{skillId}")
-    public ResponseEntity<?> deleteSkill(@PathVariable Long skillId, Authentication authentication) {
+    public ResponseEntity<?> deleteSkill(@PathVariable Long skillId, @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            User user = userRepository.findByEmail(authentication.getName());
+            User user = principal.toUser();
             skillService.deleteSkill(skillId, user);
             return ResponseEntity.ok().build();
         } catch (IllegalArgumentException e) {
@@ -53,13 +51,13 @@ public class SkillController {
 
     // Batch add skills endpoint
     @PostMapping("/batch")
-    public ResponseEntity<?> addSkills(@RequestBody Map<String, List<String>> request, Authentication authentication) {
+    public ResponseEntity<?> addSkills(@RequestBody Map<String, List<String>> request, @AuthenticationPrincipal AuthenticatedUser principal) {
         List<String> skillNames = request.get("skills");
         if (skillNames == null || skillNames.isEmpty()) {
             return ResponseEntity.badRequest().body("Skills list is required");
         }
 
-        User user = userRepository.findByEmail(authentication.getName());
+        User user = principal.toUser();
         List<Skill> skills = skillService.addSkills(skillNames, user);
         return ResponseEntity.ok(skills);
     }
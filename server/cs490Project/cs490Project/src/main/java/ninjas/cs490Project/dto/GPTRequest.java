@@ -1,15 +1,42 @@
 package ninjas.cs490Project.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import java.util.List;
 
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class GPTRequest {
     private String model;
     private List<Message> messages;
+    // Only set on streaming requests: the answer arrives as Server-Sent Events of deltas
+    private Boolean stream;
+    @JsonProperty("stream_options")
+    private StreamOptions streamOptions;
 
     public GPTRequest(String model, List<Message> messages) {
         this.model = model;
         this.messages = messages;
     }
+
+    /**
+     * The same request with stream=true, asking for token usage in the last chunk.
+     */
+    public GPTRequest streaming() {
+        GPTRequest request = new GPTRequest(model, messages);
+        request.setStream(true);
+        request.setStreamOptions(new StreamOptions(true));
+        return request;
+    }
+
+    @Data
+    public static class StreamOptions {
+        @JsonProperty("include_usage")
+        private boolean includeUsage;
+
+        public StreamOptions(boolean includeUsage) {
+            this.includeUsage = includeUsage;
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package ninjas.cs490Project.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GPTResponse {
+    private List<Choice> choices;
+    private Usage usage;
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Choice {
+        private GPTMessage message;
+        // Streamed chunks carry the next piece of the message here instead
+        private GPTMessage delta;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class GPTMessage {
+        private String role;
+        private String content; // The JSON we really want is here
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Usage {
+        @JsonProperty("prompt_tokens")
+        private long promptTokens;
+        @JsonProperty("completion_tokens")
+        private long completionTokens;
+        @JsonProperty("total_tokens")
+        private long totalTokens;
+    }
+}
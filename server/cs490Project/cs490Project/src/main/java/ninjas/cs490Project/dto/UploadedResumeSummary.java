@@ -0,0 +1,22 @@
+package ninjas.cs490Project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One row of the upload history: built directly by a JPQL constructor expression,
+ * so listing never loads the full extracted text.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadedResumeSummary {
+    private Long resumeId;
+    private String title;
+    private Instant createdAt;
+    private Integer contentLength;
+    private String preview;
+}
@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "generated_resumes")
+@Table(name = "generated_resumes",
+        indexes = @Index(name = "idx_generated_resumes_user_digest", columnList = "user_id, input_digest"))
 public class GeneratedResume {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -14,6 +15,10 @@ public class GeneratedResume {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    // SHA-256 of the generation inputs (prompt + personal info); equal digests mean equal output can be reused
+    @Column(name = "input_digest", length = 64)
+    private String inputDigest;
+
     @Column(name = "created_at")
     private Instant createdAt;
 
@@ -44,6 +49,14 @@ public class GeneratedResume {
         this.content = content;
     }
 
+    public String getInputDigest() {
+        return inputDigest;
+    }
+
+    public void setInputDigest(String inputDigest) {
+        this.inputDigest = inputDigest;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
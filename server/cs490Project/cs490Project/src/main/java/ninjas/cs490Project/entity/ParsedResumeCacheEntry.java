@@ -0,0 +1,93 @@
+package ninjas.cs490Project.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Extracted text and GPT parsing result for a resume file, keyed by the SHA-256
+ * of the file bytes, so re-uploading the same file skips Tika and GPT. The parser
+ * fingerprint records which model, prompt and skill taxonomy produced the result.
+ */
+@Entity
+@Table(name = "parsed_resume_cache")
+public class ParsedResumeCacheEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    @Column(name = "extracted_text", columnDefinition = "LONGTEXT")
+    private String extractedText;
+
+    @Column(name = "parsing_result", columnDefinition = "LONGTEXT")
+    private String parsingResult;
+
+    @Column(name = "parser_fingerprint", length = 64)
+    private String parserFingerprint;
+
+    // How long extraction + GPT parsing took originally; reported as saved time on each hit
+    @Column(name = "parse_duration_ms")
+    private Long parseDurationMs;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getExtractedText() {
+        return extractedText;
+    }
+
+    public void setExtractedText(String extractedText) {
+        this.extractedText = extractedText;
+    }
+
+    public String getParsingResult() {
+        return parsingResult;
+    }
+
+    public void setParsingResult(String parsingResult) {
+        this.parsingResult = parsingResult;
+    }
+
+    public String getParserFingerprint() {
+        return parserFingerprint;
+    }
+
+    public void setParserFingerprint(String parserFingerprint) {
+        this.parserFingerprint = parserFingerprint;
+    }
+
+    public Long getParseDurationMs() {
+        return parseDurationMs;
+    }
+
+    public void setParseDurationMs(Long parseDurationMs) {
+        this.parseDurationMs = parseDurationMs;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
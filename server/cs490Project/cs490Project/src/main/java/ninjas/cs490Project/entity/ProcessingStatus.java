@@ -28,16 +28,51 @@ public class ProcessingStatus {
     @Column(name = "started_at")
     private Instant startedAt;
 
+    // When the job left PENDING; null if it never started
+    @Column(name = "processing_started_at")
+    private Instant processingStartedAt;
+
     @Column(name = "completed_at")
     private Instant completedAt;
 
     @Column(name = "error_message")
     private String errorMessage;
 
+    // Per-stage durations in ms, filled in when the job finishes (see StageTimings)
+    @Column(name = "queued_ms")
+    private Long queuedMs;
+
+    @Column(name = "extraction_ms")
+    private Long extractionMs;
+
+    @Column(name = "llm_request_ms")
+    private Long llmRequestMs;
+
+    @Column(name = "llm_parse_ms")
+    private Long llmParseMs;
+
+    @Column(name = "persistence_ms")
+    private Long persistenceMs;
+
+    // Set on each generation started by a batch: the batch's own status row
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Batch rows only: how many child jobs there are and how many have finished
+    @Column(name = "items_total")
+    private Integer itemsTotal;
+
+    @Column(name = "items_completed")
+    private Integer itemsCompleted;
+
+    @Column(name = "items_failed")
+    private Integer itemsFailed;
+
     public enum ProcessingType {
         UPLOADED_RESUME,
         GENERATED_RESUME,
-        FREEFORM_ENTRY
+        FREEFORM_ENTRY,
+        GENERATED_RESUME_BATCH
     }
 
     public enum Status {
@@ -95,6 +130,14 @@ public class ProcessingStatus {
         this.startedAt = startedAt;
     }
 
+    public Instant getProcessingStartedAt() {
+        return processingStartedAt;
+    }
+
+    public void setProcessingStartedAt(Instant processingStartedAt) {
+        this.processingStartedAt = processingStartedAt;
+    }
+
     public Instant getCompletedAt() {
         return completedAt;
     }
@@ -110,4 +153,76 @@ public class ProcessingStatus {
     public void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
     }
-} 
\ No newline at end of file
+
+    public Long getQueuedMs() {
+        return queuedMs;
+    }
+
+    public void setQueuedMs(Long queuedMs) {
+        this.queuedMs = queuedMs;
+    }
+
+    public Long getExtractionMs() {
+        return extractionMs;
+    }
+
+    public void setExtractionMs(Long extractionMs) {
+        this.extractionMs = extractionMs;
+    }
+
+    public Long getLlmRequestMs() {
+        return llmRequestMs;
+    }
+
+    public void setLlmRequestMs(Long llmRequestMs) {
+        this.llmRequestMs = llmRequestMs;
+    }
+
+    public Long getLlmParseMs() {
+        return llmParseMs;
+    }
+
+    public void setLlmParseMs(Long llmParseMs) {
+        this.llmParseMs = llmParseMs;
+    }
+
+    public Long getPersistenceMs() {
+        return persistenceMs;
+    }
+
+    public void setPersistenceMs(Long persistenceMs) {
+        this.persistenceMs = persistenceMs;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Integer getItemsTotal() {
+        return itemsTotal;
+    }
+
+    public void setItemsTotal(Integer itemsTotal) {
+        this.itemsTotal = itemsTotal;
+    }
+
+    public Integer getItemsCompleted() {
+        return itemsCompleted;
+    }
+
+    public void setItemsCompleted(Integer itemsCompleted) {
+        this.itemsCompleted = itemsCompleted;
+    }
+
+    public Integer getItemsFailed() {
+        return itemsFailed;
+    }
+
+    public void setItemsFailed(Integer itemsFailed) {
+        this.itemsFailed = itemsFailed;
+    }
+}
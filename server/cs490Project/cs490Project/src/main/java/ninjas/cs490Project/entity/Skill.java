@@ -1,11 +1,15 @@
 package ninjas.cs490Project.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import jakarta.persistence.*;
 
+import java.util.Locale;
+
 @Data
 @Entity
-@Table(name = "skills")
+@Table(name = "skills", uniqueConstraints = @UniqueConstraint(
+        name = "uk_skills_user_normalized_name", columnNames = {"user_id", "normalized_name"}))
 public class Skill {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -14,7 +18,28 @@ public class Skill {
     @Column(nullable = false)
     private String name;
 
+    // Lookup/uniqueness key, kept in step with name; nullable only for rows that predate it
+    @JsonIgnore
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = normalize(name);
+    }
+
+    /**
+     * The case- and whitespace-insensitive form two skills of one user may not share.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Skill name cannot be null");
+        }
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,17 @@
+package ninjas.cs490Project.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * The SkillTaxonomy version skills.normalized_name was last computed with; a single
+ * row written by SkillKeyMigration.
+ */
+@Data
+@Entity
+@Table(name = "skill_key_version")
+public class SkillKeyVersion {
+    @Id
+    @Column(name = "taxonomy_version", length = 64)
+    private String taxonomyVersion;
+}
@@ -16,9 +16,20 @@ public class UploadedResume {
     @Column(columnDefinition = "TEXT")
     private String content;
 
-    @Lob
-    @Column(name = "file_data", columnDefinition = "LONGBLOB")
-    private byte[] fileData;
+    // Key of the original file in the BlobStore; null for rows uploaded before
+    // files moved out of the legacy file_data column
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    // SHA-256 of the file, used as the parse cache key
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
 
     @Column(name = "created_at")
     private Instant createdAt;
@@ -54,12 +65,36 @@ public class UploadedResume {
         this.content = content;
     }
 
-    public byte[] getFileData() {
-        return fileData;
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentHash() {
+        return contentHash;
     }
 
-    public void setFileData(byte[] fileData) {
-        this.fileData = fileData;
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
     }
 
     public Instant getCreatedAt() {
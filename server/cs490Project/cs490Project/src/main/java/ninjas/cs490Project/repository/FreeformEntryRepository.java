@@ -2,11 +2,22 @@ package ninjas.cs490Project.repository;
 
 import ninjas.cs490Project.entity.FreeformEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FreeformEntryRepository extends JpaRepository<FreeformEntry, Integer> {
     List<FreeformEntry> findByUserId(Integer userId);
+
+    interface CareerView {
+        Integer getId();
+        Integer getCareerId();
+    }
+
+    @Query("SELECT f.id AS id, w.id AS careerId FROM FreeformEntry f JOIN f.workExperience w WHERE f.id IN :ids")
+    List<CareerView> findCareersByIdIn(@Param("ids") Collection<Integer> ids);
 } 
\ No newline at end of file
@@ -3,11 +3,26 @@ package ninjas.cs490Project.repository;
 import ninjas.cs490Project.entity.GeneratedResume;
 import ninjas.cs490Project.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GeneratedResumeRepository extends JpaRepository<GeneratedResume, Long> {
     List<GeneratedResume> findByUser(User user);
     List<GeneratedResume> findByUserAndJobDescriptionId(User user, Long jobDescriptionId);
+    Optional<GeneratedResume> findFirstByUserAndInputDigestAndContentIsNotNullOrderByUpdatedAtDesc(User user, String inputDigest);
+
+    interface JobView {
+        Long getId();
+        Integer getJobId();
+        String getJobTitle();
+    }
+
+    @Query("SELECT g.id AS id, j.id AS jobId, j.jobTitle AS jobTitle " +
+           "FROM GeneratedResume g JOIN g.jobDescription j WHERE g.id IN :ids")
+    List<JobView> findJobsByIdIn(@Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
@@ -0,0 +1,12 @@
+package ninjas.cs490Project.repository;
+
+import ninjas.cs490Project.entity.ParsedResumeCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ParsedResumeCacheRepository extends JpaRepository<ParsedResumeCacheEntry, Long> {
+    Optional<ParsedResumeCacheEntry> findByContentHash(String contentHash);
+}
@@ -4,11 +4,22 @@ import ninjas.cs490Project.entity.ProcessingStatus;
 import ninjas.cs490Project.entity.User;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
 public interface ProcessingStatusRepository extends JpaRepository<ProcessingStatus, Long> {
     List<ProcessingStatus> findByUserOrderByStartedAtDesc(User user, Pageable pageable);
-} 
\ No newline at end of file
+
+    // Increments in the database, so children finishing at the same time are all counted
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProcessingStatus s SET s.itemsCompleted = s.itemsCompleted + :completed, " +
+           "s.itemsFailed = s.itemsFailed + :failed WHERE s.id = :id")
+    int addBatchProgress(@Param("id") Long id, @Param("completed") int completed, @Param("failed") int failed);
+}
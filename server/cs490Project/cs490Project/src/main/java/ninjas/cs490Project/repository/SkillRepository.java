@@ -5,6 +5,7 @@ import ninjas.cs490Project.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -14,4 +15,5 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     Skill findByNameAndUser(String name, User user);
     List<Skill> findByUser(User user);
     Optional<Skill> findByNameIgnoreCaseAndUser(String name, User user);
+    List<Skill> findByUserAndNormalizedNameIn(User user, Collection<String> normalizedNames);
 }
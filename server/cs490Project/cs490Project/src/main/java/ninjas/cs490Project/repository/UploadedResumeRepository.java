@@ -1,12 +1,45 @@
 package ninjas.cs490Project.repository;
 
+import ninjas.cs490Project.dto.UploadedResumeSummary;
 import ninjas.cs490Project.entity.UploadedResume;
 import ninjas.cs490Project.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UploadedResumeRepository extends JpaRepository<UploadedResume, Long> {
     List<UploadedResume> findByUser(User user);
-} 
\ No newline at end of file
+
+    // Newest first, keyset-paginated on id; both queries are range scans on (user_id, id)
+    @Query("SELECT new ninjas.cs490Project.dto.UploadedResumeSummary(r.id, r.title, r.createdAt, " +
+           "LENGTH(r.content), SUBSTRING(r.content, 1, :previewLength)) " +
+           "FROM UploadedResume r WHERE r.user = :user ORDER BY r.id DESC")
+    List<UploadedResumeSummary> findSummariesByUser(@Param("user") User user,
+                                                    @Param("previewLength") int previewLength,
+                                                    Limit limit);
+
+    @Query("SELECT new ninjas.cs490Project.dto.UploadedResumeSummary(r.id, r.title, r.createdAt, " +
+           "LENGTH(r.content), SUBSTRING(r.content, 1, :previewLength)) " +
+           "FROM UploadedResume r WHERE r.user = :user AND r.id < :beforeId ORDER BY r.id DESC")
+    List<UploadedResumeSummary> findSummariesByUserBefore(@Param("user") User user,
+                                                          @Param("beforeId") Long beforeId,
+                                                          @Param("previewLength") int previewLength,
+                                                          Limit limit);
+
+    interface TitleView {
+        Long getId();
+        String getTitle();
+    }
+
+    @Query("SELECT r.id AS id, r.title AS title FROM UploadedResume r WHERE r.id IN :ids")
+    List<TitleView> findTitlesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.content FROM UploadedResume r WHERE r.id = :id AND r.user = :user")
+    Optional<String> findContentByIdAndUser(@Param("id") Long id, @Param("user") User user);
+}
@@ -0,0 +1,40 @@
+package ninjas.cs490Project.security;
+
+import ninjas.cs490Project.entity.User;
+
+import java.security.Principal;
+
+/**
+ * Lightweight principal put in the SecurityContext by JWTAuthenticationFilter.
+ * getName() returns the email, so Authentication.getName() behaves as before.
+ * Controllers take it with @AuthenticationPrincipal instead of looking the user up.
+ */
+public record AuthenticatedUser(int id, String email, String username, String firstName, String lastName,
+                                String profilePictureUrl, Boolean isVerified) implements Principal {
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getUsername(), user.getFirstName(),
+                user.getLastName(), user.getProfilePictureUrl(), user.getIsVerified());
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * Detached User carrying this principal's fields, for passing to services and
+     * repository queries. Not for saving: load the entity when the user itself changes.
+     */
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setUsername(username);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setProfilePictureUrl(profilePictureUrl);
+        user.setIsVerified(isVerified);
+        return user;
+    }
+}
@@ -1,5 +1,7 @@
 package ninjas.cs490Project.security;
 
+import io.jsonwebtoken.Claims;
+import ninjas.cs490Project.service.AuthenticatedUserCache;
 import ninjas.cs490Project.service.JWTService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,20 +23,27 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JWTService jwtService;
 
-    // In a full implementation, you would load UserDetails from a service.
-    // For now, we’ll assume that if the token is valid, we trust its subject.
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    // A valid token's subject is resolved once, from cache, into an AuthenticatedUser
+    // principal that controllers receive directly.
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         String token = extractTokenFromCookies(request);
-        if (StringUtils.hasText(token) && jwtService.validateToken(token)) {
-            String username = jwtService.extractUsername(token);
-            // In production, load the full UserDetails and roles here.
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(username, null, null);
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (StringUtils.hasText(token)) {
+            // One verification; repeat requests with the same token hit the verified-token cache
+            jwtService.verify(token)
+                    .map(Claims::getSubject)
+                    .flatMap(authenticatedUserCache::get)
+                    .ifPresent(principal -> {
+                        UsernamePasswordAuthenticationToken authentication =
+                                new UsernamePasswordAuthenticationToken(principal, null, null);
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    });
         }
         filterChain.doFilter(request, response);
     }
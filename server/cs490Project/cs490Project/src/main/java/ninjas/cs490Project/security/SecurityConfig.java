@@ -1,6 +1,10 @@
 package ninjas.cs490Project.security;
 
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -34,9 +38,14 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .cors(withDefaults()) // uses the CorsConfigurationSource bean defined below
                 .authorizeHttpRequests(auth -> auth
+                        // An SSE response completing re-dispatches the request, which the JWT
+                        // filter does not see again; the original dispatch was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Add "/oauth/google/**" to your existing permit list:
                         .requestMatchers("/api/register", "/auth/**", "/oauth/**").permitAll()
                         .requestMatchers("/api/resumes/*/status", "/api/resumes/career/*/status").permitAll()
+                        // Only reachable on the management port
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                         .requestMatchers("/api/resumes/**", "/api/profile/**", "/api/skills/**").authenticated()
                         .anyRequest().authenticated()
                 )
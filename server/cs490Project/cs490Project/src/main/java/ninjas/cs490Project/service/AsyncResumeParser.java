@@ -1,272 +1,168 @@
 package ninjas.cs490Project.service;
 
-import ninjas.cs490Project.dto.EducationData;
+import ninjas.cs490Project.config.AsyncConfig;
 import ninjas.cs490Project.dto.ResumeParsingResult;
-import ninjas.cs490Project.dto.WorkExperienceData;
-import ninjas.cs490Project.entity.Education;
 import ninjas.cs490Project.entity.UploadedResume;
 import ninjas.cs490Project.entity.User;
-import ninjas.cs490Project.entity.WorkExperience;
 import ninjas.cs490Project.entity.FreeformEntry;
 import ninjas.cs490Project.entity.ProcessingStatus;
-import ninjas.cs490Project.entity.Skill;
-import ninjas.cs490Project.repository.EducationRepository;
 import ninjas.cs490Project.repository.UploadedResumeRepository;
-import ninjas.cs490Project.repository.WorkExperienceRepository;
 import ninjas.cs490Project.repository.FreeformEntryRepository;
-import org.apache.tika.Tika;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.io.ByteArrayInputStream;
-import java.time.Instant;
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs resume and freeform parsing as a reactive pipeline: a parse cache lookup and
+ * Tika extraction on the extraction pool, a non-blocking GPT call through LlmClient, and the database
+ * writes on the persistence pool. A stage rejected by a full pool fails the
+ * ProcessingStatus. Each job's StageTimings are stored on its status when it finishes.
+ */
 @Service
 public class AsyncResumeParser {
 
     private static final Logger logger = LoggerFactory.getLogger(AsyncResumeParser.class);
 
     private final UploadedResumeRepository uploadedResumeRepository;
-    private final WorkExperienceRepository workExperienceRepository;
-    private final EducationRepository educationRepository;
     private final FreeformEntryRepository freeformEntryRepository;
-    private final SkillService skillService;
     private final ProcessingStatusService processingStatusService;
     private final ResumeParsingService resumeParsingService;
+    private final ResumeFileService resumeFileService;
+    private final ResumePersistenceService resumePersistenceService;
+    private final ResumeParseCache resumeParseCache;
     private final ObjectMapper objectMapper;
+    private final Scheduler extractionScheduler;
+    private final Scheduler persistenceScheduler;
 
     public AsyncResumeParser(UploadedResumeRepository uploadedResumeRepository,
-                             WorkExperienceRepository workExperienceRepository,
-                             EducationRepository educationRepository,
                              FreeformEntryRepository freeformEntryRepository,
-                             SkillService skillService,
                              ProcessingStatusService processingStatusService,
                              ResumeParsingService resumeParsingService,
-                             ObjectMapper objectMapper) {
+                             ResumeFileService resumeFileService,
+                             ResumePersistenceService resumePersistenceService,
+                             ResumeParseCache resumeParseCache,
+                             ObjectMapper objectMapper,
+                             @Qualifier(AsyncConfig.EXTRACTION_EXECUTOR) Executor extractionExecutor,
+                             @Qualifier(AsyncConfig.PERSISTENCE_EXECUTOR) Executor persistenceExecutor) {
         this.uploadedResumeRepository = uploadedResumeRepository;
-        this.workExperienceRepository = workExperienceRepository;
-        this.educationRepository = educationRepository;
         this.freeformEntryRepository = freeformEntryRepository;
-        this.skillService = skillService;
         this.processingStatusService = processingStatusService;
         this.resumeParsingService = resumeParsingService;
+        this.resumeFileService = resumeFileService;
+        this.resumePersistenceService = resumePersistenceService;
+        this.resumeParseCache = resumeParseCache;
         this.objectMapper = objectMapper;
+        this.extractionScheduler = Schedulers.fromExecutor(extractionExecutor);
+        this.persistenceScheduler = Schedulers.fromExecutor(persistenceExecutor);
     }
 
-    @Async
-    @Transactional
     public void parseResume(UploadedResume resume, ProcessingStatus status) {
-        try {
-            Tika tika = new Tika();
-            String resumeText = tika.parseToString(new ByteArrayInputStream(resume.getFileData()));
-            logger.info("Extracted resume text (first 100 chars): {}",
-                    resumeText.substring(0, Math.min(resumeText.length(), 100)));
-
-            // Parse resume details using your parsing service (e.g., GPT)
-            ResumeParsingResult parsingResult = resumeParsingService.parseKeyInformation(resumeText);
-            logger.info("Parsed result: {}", objectMapper.writeValueAsString(parsingResult));
+        StageTimings timings = new StageTimings(status.getStartedAt());
+        Mono.fromCallable(() -> timings.time(StageTimings.Stage.PERSISTENCE,
+                        () -> resumeParseCache.get(resume.getContentHash()).orElse(null)))
+                .subscribeOn(extractionScheduler)
+                // Same file seen before: reuse its text and parsed result, no Tika or GPT
+                .map(cached -> new ParsedResume(storeText(resume, cached.extractedText(), timings), cached.parsingResult(), true))
+                .switchIfEmpty(Mono.defer(() -> parseUncached(resume, timings)))
+                .publishOn(persistenceScheduler)
+                .doOnNext(parsed -> timings.time(StageTimings.Stage.PERSISTENCE, () -> {
+                    resumePersistenceService.saveParsedResume(resume.getUser(), parsed.parsingResult());
+                    if (!parsed.fromCache()) {
+                        resumeParseCache.put(resume.getContentHash(), parsed.text(), parsed.parsingResult(), parsed.parseDurationMs());
+                    }
+                }))
+                .subscribe(
+                        parsed -> processingStatusService.completeProcessing(status.getId(), timings),
+                        error -> {
+                            logger.error("Error processing resume with ID " + resume.getId(), error);
+                            failProcessing(status, error, timings);
+                        });
+    }
 
-            /*
-            // TESTING
-            Thread.sleep(10000);
-            ResumeParsingResult parsingResult = new ResumeParsingResult();
-            List<EducationData> mockEducationList = new ArrayList<>();
-            EducationData mockEducation = new EducationData();
-            mockEducation.setInstitution("University of Illinois at Urbana-Champaign");
-            mockEducation.setDegree("Bachelor of Science");
-            mockEducation.setFieldOfStudy("Computer Science");
-            mockEducation.setStartDate("2021-08-15");
-            mockEducation.setEndDate("2025-12-15");
-            mockEducation.setGpa(3.8);
-            mockEducationList.add(mockEducation);
+    private record ParsedResume(String text, ResumeParsingResult parsingResult, boolean fromCache, long parseDurationMs) {
+        ParsedResume(String text, ResumeParsingResult parsingResult, boolean fromCache) {
+            this(text, parsingResult, fromCache, 0L);
+        }
+    }
 
-            List<WorkExperienceData> mockWorkExperienceList = new ArrayList<>();
-            WorkExperienceData mockWorkExperience = new WorkExperienceData();
-            mockWorkExperience.setCompany("Google");
-            mockWorkExperience.setJobTitle("Software Engineer");
-            mockWorkExperience.setStartDate("2021-08-15");
-            mockWorkExperience.setEndDate("2025-12-15");
-            mockWorkExperience.setDescription("Developed and maintained software applications.");
-            mockWorkExperienceList.add(mockWorkExperience);
+    private Mono<ParsedResume> parseUncached(UploadedResume resume, StageTimings timings) {
+        long startedAt = System.nanoTime();
+        return Mono.fromCallable(() -> extractText(resume, timings))
+                // Non-blocking GPT call; no thread waits on the model
+                .flatMap(text -> resumeParsingService.parseKeyInformation(text, timings)
+                        .doOnNext(this::logParsingResult)
+                        .map(parsingResult -> new ParsedResume(text, parsingResult, false,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))));
+    }
 
-            List<String> mockSkills = new ArrayList<>();
-            mockSkills.add("Java");
-            mockSkills.add("Python");
-            mockSkills.add("C++");
+    public void parseFreeformCareer(String text, User user, FreeformEntry freeformEntry, ProcessingStatus status) {
+        StageTimings timings = new StageTimings(status.getStartedAt());
+        // Parse the freeform text using GPT
+        resumeParsingService.parseFreeformCareer(text, timings)
+                .publishOn(persistenceScheduler)
+                .doOnNext(parsingResult -> timings.time(StageTimings.Stage.PERSISTENCE,
+                        () -> resumePersistenceService.saveFreeformCareer(user, freeformEntry, parsingResult)))
+                .subscribe(
+                        parsingResult -> processingStatusService.completeProcessing(status.getId(), timings),
+                        error -> {
+                            logger.error("Error parsing freeform career", error);
+                            touchFreeformEntry(freeformEntry);
+                            failProcessing(status, error, timings);
+                        });
+    }
 
-            parsingResult.setEducationList(mockEducationList);
-            parsingResult.setWorkExperienceList(mockWorkExperienceList);
-            parsingResult.setSkills(mockSkills);
-            */
+    private String extractText(UploadedResume resume, StageTimings timings) throws Exception {
+        // Single extraction pass, streamed from the BlobStore; the upload request only stored the file
+        String resumeText = timings.time(StageTimings.Stage.EXTRACTION, () -> {
+            try (InputStream content = resumeFileService.open(resume)) {
+                return resumeParsingService.extractText(content);
+            }
+        });
+        logger.info("Extracted resume text (first 100 chars): {}",
+                resumeText.substring(0, Math.min(resumeText.length(), 100)));
+        return storeText(resume, resumeText, timings);
+    }
 
-            // Update the resume content
+    private String storeText(UploadedResume resume, String resumeText, StageTimings timings) {
+        timings.time(StageTimings.Stage.PERSISTENCE, () -> {
             resume.setContent(resumeText);
+            resume.setUpdatedAt(Instant.now());
             uploadedResumeRepository.save(resume);
-
-            // Process education entries
-            List<EducationData> educationList = parsingResult.getEducationList();
-            if (educationList != null && !educationList.isEmpty()) {
-                logger.info("Found {} education entries.", educationList.size());
-                List<Education> educations = new ArrayList<>();
-
-                for (EducationData data : educationList) {
-                    Education edu = new Education();
-                    edu.setInstitution(data.getInstitution());
-                    edu.setDegree(data.getDegree());
-                    edu.setFieldOfStudy(data.getFieldOfStudy());
-                    edu.setDescription(data.getDescription());
-
-                    // Safe date parsing
-                    edu.setStartDate(
-                            data.getStartDate() != null
-                                    ? LocalDate.parse(data.getStartDate())
-                                    : LocalDate.of(2021, 9, 1)
-                    );
-                    edu.setEndDate(
-                            data.getEndDate() != null
-                                    ? LocalDate.parse(data.getEndDate())
-                                    : LocalDate.of(2025, 12, 1)
-                    );
-
-                    // Handle GPA
-                    Double gpaValue = data.getGpa();
-                    edu.setGpa(gpaValue);
-
-                    edu.setUser(resume.getUser());
-                    educations.add(edu);
-                }
-                educationRepository.saveAll(educations);
-                logger.info("Saved {} education entries.", educations.size());
-            }
-
-            // Process work experience entries
-            List<WorkExperienceData> workExpList = parsingResult.getWorkExperienceList();
-            if (workExpList != null && !workExpList.isEmpty()) {
-
-                for (WorkExperienceData data : workExpList) {
-                    WorkExperience we = new WorkExperience();
-                    we.setCompany(data.getCompany());
-                    we.setJobTitle(data.getJobTitle());
-                    we.setStartDate(LocalDate.parse(data.getStartDate()));
-
-                    String endDateStr = data.getEndDate();
-                    if (endDateStr == null || endDateStr.trim().isEmpty() || endDateStr.equalsIgnoreCase("N/A")) {
-                        we.setEndDate(null);
-                    } else {
-                        we.setEndDate(LocalDate.parse(endDateStr));
-                    }
-
-                    we.setResponsibilities(data.getResponsibilities());
-                    we.setAccomplishments(data.getAccomplishments());
-                    we.setUser(resume.getUser());
-                    workExperienceRepository.save(we);
-                }
-                logger.info("Saved {} work experience entries.", workExpList.size());
-            } else {
-                logger.warn("No work experience entries found in parsed result.");
-            }
-
-            // Process skills
-            List<String> skills = parsingResult.getSkills();
-            if (skills != null && !skills.isEmpty()) {
-                logger.info("Found {} skills to process.", skills.size());
-                
-                // Use SkillService to add skills with de-duplication
-                List<Skill> addedSkills = skillService.addSkills(skills, resume.getUser());
-                logger.info("Processed {} skills for user.", addedSkills.size());
-            } else {
-                logger.warn("No skills found in parsed result.");
-            }
-
-            processingStatusService.completeProcessing(status.getId());
-        } catch (Exception e) {
-            logger.error("Error processing resume with ID " + resume.getId(), e);
-            processingStatusService.failProcessing(status.getId(), e.getMessage());
-        }
+        });
+        return resumeText;
     }
 
-    @Async
-    @Transactional
-    public void parseFreeformCareer(String text, User user, FreeformEntry freeformEntry, ProcessingStatus status) {
+    private void logParsingResult(ResumeParsingResult parsingResult) {
         try {
-            // Parse the freeform text using GPT
-            ResumeParsingResult parsingResult = resumeParsingService.parseFreeformCareer(text);
-
-            /*
-            // FOR TESTING
-            Thread.sleep(10000);
-            ResumeParsingResult parsingResult = new ResumeParsingResult();
-            parsingResult.setWorkExperienceList(new ArrayList<>());
-            WorkExperienceData mock = new WorkExperienceData();
-            mock.setCompany("Company");
-            mock.setJobTitle("Job Title");
-            mock.setStartDate("2021-01-01");
-            mock.setEndDate("2021-01-01");
-            mock.setResponsibilities("Description");
-            mock.setAccomplishments("Test");
-            parsingResult.getWorkExperienceList().add(mock);
-             */
-
-            // Get existing work experience if any
-            WorkExperience existingExperience = workExperienceRepository.findByFreeformEntryId(freeformEntry.getId());
-
-            // Process work experience entry
-            List<WorkExperienceData> workExpList = parsingResult.getWorkExperienceList();
-            if (workExpList != null && !workExpList.isEmpty()) {
-                // Take only the first work experience entry
-                WorkExperienceData data = workExpList.get(0);
-                
-                // Update existing experience or create new one
-                WorkExperience we = (existingExperience != null) ? existingExperience : new WorkExperience();
-                
-                // Update the fields
-                we.setCompany(data.getCompany());
-                we.setJobTitle(data.getJobTitle());
-                we.setStartDate(LocalDate.parse(data.getStartDate()));
-
-                String endDateStr = data.getEndDate();
-                if (endDateStr == null || endDateStr.trim().isEmpty() || endDateStr.equalsIgnoreCase("N/A")) {
-                    we.setEndDate(null);
-                } else if (endDateStr.equalsIgnoreCase("Present")) {
-                    we.setEndDate(LocalDate.now());
-                } else {
-                    we.setEndDate(LocalDate.parse(endDateStr));
-                }
-
-                we.setResponsibilities(data.getResponsibilities());
-                we.setAccomplishments(data.getAccomplishments());
-                we.setUser(user);
-                we.setFreeformEntry(freeformEntry);
+            logger.info("Parsed result: {}", objectMapper.writeValueAsString(parsingResult));
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize parsed result for logging: {}", e.getMessage());
+        }
+    }
 
-                // Save the work experience
-                workExperienceRepository.save(we);
-                logger.info("Saved work experience entry from freeform text.");
-                
-                // Update FreeformEntry
-                freeformEntry.setUpdatedAt(Instant.now());
-                freeformEntry.setWorkExperience(we);
-                freeformEntryRepository.save(freeformEntry);
-                
-            } else {
-                logger.warn("No work experience entry found in parsed freeform text.");
-                freeformEntry.setUpdatedAt(Instant.now());
-                freeformEntryRepository.save(freeformEntry);
-            }
-            processingStatusService.completeProcessing(status.getId());
+    private void touchFreeformEntry(FreeformEntry freeformEntry) {
+        freeformEntry.setUpdatedAt(Instant.now());
+        freeformEntryRepository.save(freeformEntry);
+    }
 
-        } catch (Exception e) {
-            logger.error("Error parsing freeform career", e);
-            freeformEntry.setUpdatedAt(Instant.now());
-            freeformEntryRepository.save(freeformEntry);
-            processingStatusService.failProcessing(status.getId(), e.getMessage());
+    private void failProcessing(ProcessingStatus status, Throwable error, StageTimings timings) {
+        if (ProcessingStatusService.isRejection(error)) {
+            processingStatusService.rejectProcessing(status.getId());
+        } else {
+            processingStatusService.failProcessing(status.getId(), error.getMessage(), timings);
         }
     }
-}
\ No newline at end of file
+}
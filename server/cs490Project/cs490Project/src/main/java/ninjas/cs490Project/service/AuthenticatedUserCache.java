@@ -0,0 +1,53 @@
+package ninjas.cs490Project.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ninjas.cs490Project.entity.User;
+import ninjas.cs490Project.repository.UserRepository;
+import ninjas.cs490Project.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-based cache of AuthenticatedUser by email, so an authenticated request
+ * does not select from users. Code that changes a user's fields calls evict; the
+ * TTL bounds staleness for anything else.
+ */
+@Service
+public class AuthenticatedUserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> principals;
+
+    public AuthenticatedUserCache(UserRepository userRepository,
+                                  @Value("${auth.principal-cache.max-entries:10000}") long maxEntries,
+                                  @Value("${auth.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Optional<AuthenticatedUser> get(String email) {
+        AuthenticatedUser cached = principals.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Unknown emails are not cached, so a user created afterwards is found
+        User user = userRepository.findByEmail(email);
+        if (user == null) {
+            return Optional.empty();
+        }
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        principals.put(email, principal);
+        return Optional.of(principal);
+    }
+
+    public void evict(String email) {
+        principals.invalidate(email);
+    }
+}
@@ -0,0 +1,113 @@
+package ninjas.cs490Project.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs batch generations with at most resume.generation.batch.per-user-concurrency
+ * in flight per user, whatever number of batches that user has open; the rest wait
+ * in a per-user FIFO. One user's 50-job batch therefore holds a few GPT connections
+ * while other users' jobs keep flowing through the shared pool.
+ */
+@Service
+public class FairGenerationScheduler {
+
+    private static final class Lane {
+        private int running;
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+    }
+
+    private static final int WAITING = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLED = 2;
+
+    private final int perUserConcurrency;
+    // Guarded by this; a lane is dropped as soon as its user has nothing running
+    private final Map<Integer, Lane> lanes = new HashMap<>();
+    private int waiting;
+
+    public FairGenerationScheduler(MeterRegistry meterRegistry,
+                                   @Value("${resume.generation.batch.per-user-concurrency:4}") int perUserConcurrency) {
+        if (perUserConcurrency < 1) {
+            throw new IllegalArgumentException("resume.generation.batch.per-user-concurrency must be at least 1");
+        }
+        this.perUserConcurrency = perUserConcurrency;
+        Gauge.builder("resume.generation.batch.waiting", this, FairGenerationScheduler::waitingCount)
+                .description("Batch generations waiting for their user's turn")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to work once the user has a free slot, and frees the slot when work
+     * terminates or is cancelled.
+     */
+    public <T> Mono<T> schedule(int userId, Mono<T> work) {
+        return Mono.defer(() -> {
+            AtomicInteger state = new AtomicInteger(WAITING);
+            return Mono.<Void>create(sink -> {
+                        // Cancellation reaches here before doFinally below runs
+                        sink.onCancel(() -> state.compareAndSet(WAITING, CANCELLED));
+                        acquire(userId, () -> {
+                            if (state.compareAndSet(WAITING, RUNNING)) {
+                                sink.success();
+                            } else {
+                                // Gave up while waiting; pass the slot on
+                                release(userId);
+                            }
+                        });
+                    })
+                    .then(work)
+                    .doFinally(signal -> {
+                        if (state.get() == RUNNING) {
+                            release(userId);
+                        }
+                    });
+        });
+    }
+
+    synchronized int waitingCount() {
+        return waiting;
+    }
+
+    private void acquire(int userId, Runnable start) {
+        synchronized (this) {
+            Lane lane = lanes.computeIfAbsent(userId, id -> new Lane());
+            if (lane.running >= perUserConcurrency) {
+                lane.waiting.addLast(start);
+                waiting++;
+                return;
+            }
+            lane.running++;
+        }
+        start.run();
+    }
+
+    // Hands the slot straight to the user's next waiting job, if any
+    private void release(int userId) {
+        Runnable next;
+        synchronized (this) {
+            Lane lane = lanes.get(userId);
+            if (lane == null) {
+                return;
+            }
+            next = lane.waiting.pollFirst();
+            if (next != null) {
+                waiting--;
+            } else if (--lane.running == 0) {
+                lanes.remove(userId);
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+}
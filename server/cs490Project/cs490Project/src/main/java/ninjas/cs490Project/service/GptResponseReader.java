@@ -0,0 +1,137 @@
+package ninjas.cs490Project.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ninjas.cs490Project.dto.GPTResponse;
+
+import java.io.IOException;
+
+/**
+ * Decodes a chat-completions response body in one pass over its bytes. The envelope is
+ * walked token by token, keeping only choices[0].message.content and usage; the content
+ * is bound to the result type straight from the parser's unescaped character buffer, so
+ * neither the body nor the content is ever materialized as a String.
+ */
+final class GptResponseReader {
+
+    /**
+     * The content bound to the requested type, and the usage block if the response had one.
+     */
+    record Decoded<T>(T result, GPTResponse.Usage usage) {
+    }
+
+    /**
+     * The content's JSON did not fit the result type. Carries the content for logging.
+     */
+    static final class ContentException extends IOException {
+
+        private final String content;
+
+        ContentException(String content, IOException cause) {
+            super(cause.getMessage(), cause);
+            this.content = content;
+        }
+
+        String content() {
+            return content;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    GptResponseReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the response. A body that is not a chat completion with a first choice
+     * carrying content fails with IllegalStateException; content that does not bind
+     * fails with ContentException, whose cause is Jackson's exception.
+     */
+    <T> Decoded<T> read(byte[] body, Class<T> resultType) throws ContentException {
+        T result = null;
+        boolean hasContent = false;
+        GPTResponse.Usage usage = null;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                    // Only the first choice is used
+                    JsonToken first = parser.nextToken();
+                    if (first == JsonToken.START_OBJECT && seekContent(parser)) {
+                        result = bindContent(parser, resultType);
+                        hasContent = true;
+                        // The rest of the message, then of the choice
+                        skipRest(parser);
+                        skipRest(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    if (first != JsonToken.END_ARRAY) {
+                        skipRest(parser);
+                    }
+                } else if ("usage".equals(field) && value == JsonToken.START_OBJECT) {
+                    usage = objectMapper.readValue(parser, GPTResponse.Usage.class);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (ContentException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new IllegalStateException("Malformed chat-completions response: " + e.getMessage(), e);
+        }
+        if (!hasContent) {
+            throw new IllegalStateException("Chat-completions response has no message content");
+        }
+        return new Decoded<>(result, usage);
+    }
+
+    // Inside the first choice: advances to the message's content string, skipping the rest
+    private static boolean seekContent(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("message".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String messageField = parser.currentName();
+                    if (parser.nextToken() == JsonToken.VALUE_STRING && "content".equals(messageField)) {
+                        return true;
+                    }
+                    parser.skipChildren();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return false;
+    }
+
+    private <T> T bindContent(JsonParser parser, Class<T> resultType) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        try (JsonParser content = objectMapper.createParser(chars, offset, length)) {
+            return objectMapper.readValue(content, resultType);
+        } catch (IOException e) {
+            throw new ContentException(new String(chars, offset, length), e);
+        }
+    }
+
+    // Skips to the end of the structure the parser is currently inside
+    private static void skipRest(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && !token.isStructEnd()) {
+            parser.skipChildren();
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("expected " + expected + " but found " + actual);
+        }
+    }
+}
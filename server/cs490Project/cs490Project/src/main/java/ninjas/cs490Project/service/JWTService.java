@@ -1,22 +1,38 @@
 package ninjas.cs490Project.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import ninjas.cs490Project.entity.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JWTService {
 
     private final Key key;
 
+    // Thread-safe; built once instead of per call
+    private final JwtParser parser;
+
+    // SHA-256 of a recently verified token -> its claims, kept until the token expires
+    private final Cache<String, Claims> verifiedTokens;
+
     // We'll read the 'jwt.secret' from application.properties
     // and ensure it’s large enough for HS256
-    public JWTService(@Value("${jwt.secret}") String secretString) {
+    public JWTService(@Value("${jwt.secret}") String secretString,
+                      @Value("${jwt.verified-cache.max-entries:10000}") long verifiedCacheSize) {
         // Convert the string to bytes. Must be >= 256 bits => >= 32 bytes
         byte[] keyBytes = secretString.getBytes();
         // Or if you used a Base64 string, decode it first
@@ -24,6 +40,29 @@ public class JWTService {
 
         this.key = Keys.hmacShaKeyFor(keyBytes);
         // If 'secretString' is < 32 chars, you'll get WeakKeyException
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(User user) {
@@ -40,27 +79,52 @@ public class JWTService {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns its claims, or empty if it is invalid or expired.
+     * A token seen before is answered from cache until its exp, without re-checking the HMAC.
+     */
+    public Optional<Claims> verify(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         try {
             // Will throw if invalid or expired
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(digest, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
             // Could log the error
-            return false;
+            return Optional.empty();
         }
     }
 
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
     public String extractUsername(String token) {
         // We assume 'sub' in the JWT is the username/email
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return verify(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid token"));
+    }
+
+    private static long remainingNanos(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return TimeUnit.MINUTES.toNanos(5);
+        }
+        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis()));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -3,7 +3,10 @@ package ninjas.cs490Project.service;
 import ninjas.cs490Project.controller.JobDescriptionController.JobDescriptionRequest;
 import ninjas.cs490Project.entity.JobDescription;
 import ninjas.cs490Project.entity.User;
+import ninjas.cs490Project.repository.EducationRepository;
 import ninjas.cs490Project.repository.JobDescriptionRepository;
+import ninjas.cs490Project.repository.SkillRepository;
+import ninjas.cs490Project.repository.WorkExperienceRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -15,9 +18,21 @@ import java.util.Map;
 @Service
 public class JobDescriptionService {
     private final JobDescriptionRepository jobDescriptionRepository;
+    private final WorkExperienceRepository workExperienceRepository;
+    private final EducationRepository educationRepository;
+    private final SkillRepository skillRepository;
+    private final JobMatchScorer jobMatchScorer;
 
-    public JobDescriptionService(JobDescriptionRepository jobDescriptionRepository) {
+    public JobDescriptionService(JobDescriptionRepository jobDescriptionRepository,
+                                 WorkExperienceRepository workExperienceRepository,
+                                 EducationRepository educationRepository,
+                                 SkillRepository skillRepository,
+                                 JobMatchScorer jobMatchScorer) {
         this.jobDescriptionRepository = jobDescriptionRepository;
+        this.workExperienceRepository = workExperienceRepository;
+        this.educationRepository = educationRepository;
+        this.skillRepository = skillRepository;
+        this.jobMatchScorer = jobMatchScorer;
     }
 
     public Map<String, String> submitJobDescription(User user, JobDescriptionRequest jobDescription) {
@@ -59,4 +74,18 @@ public class JobDescriptionService {
         }
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * How well the user's stored career matches one of their job descriptions, scored
+     * locally by JobMatchScorer.
+     */
+    public JobMatchScorer.JobMatch getJobMatch(User user, Long jobId) {
+        JobDescription job = jobDescriptionRepository.findById(jobId)
+                .filter(found -> found.getUser().getId() == user.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Job description not found"));
+        return jobMatchScorer.match(job,
+                workExperienceRepository.findByUserId(user.getId()),
+                educationRepository.findByUserId(user.getId()),
+                skillRepository.findByUser(user));
+    }
+}
@@ -0,0 +1,230 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.entity.Education;
+import ninjas.cs490Project.entity.JobDescription;
+import ninjas.cs490Project.entity.Skill;
+import ninjas.cs490Project.entity.WorkExperience;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Scores a user's career entries against a job description in-process with BM25,
+ * no LLM involved. The job's keywords are the SkillTaxonomy skills it mentions plus
+ * its most frequent other words; each work experience, education and skill row is
+ * one document. Used for the job match endpoint and to decide which experiences
+ * ResumePromptBuilder keeps in full.
+ */
+@Service
+public class JobMatchScorer {
+
+    public record EntryMatch(String type, long id, String label, double score, List<String> matchedKeywords) {
+    }
+
+    /**
+     * matchScore is the weighted share (0-100) of the job's keywords found anywhere in
+     * the user's entries; entries are the ones sharing at least one keyword, best first.
+     */
+    public record JobMatch(int matchScore, List<String> matchedKeywords, List<String> missingKeywords,
+                           List<EntryMatch> entries) {
+    }
+
+    private record Keyword(String term, String label, double weight) {
+    }
+
+    private record Document(String type, long id, String label, Map<String, Integer> termFrequencies, int length) {
+    }
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double SKILL_WEIGHT = 2.0;
+    private static final int MAX_WORD_KEYWORDS = 20;
+    // Skill terms cannot collide with words, which never contain ':'
+    private static final String SKILL_PREFIX = "skill:";
+
+    private static final Set<String> STOPWORDS = new HashSet<>(Arrays.asList(
+            "the", "and", "for", "with", "you", "your", "our", "are", "will", "this", "that", "from",
+            "have", "has", "who", "all", "can", "not", "but", "into", "their", "them", "they", "its",
+            "was", "were", "been", "being", "over", "more", "other", "such", "than", "per", "any",
+            "work", "working", "team", "teams", "role", "years", "year", "experience", "ability",
+            "strong", "including", "using", "across", "within", "about", "also", "must", "plus",
+            "what", "how", "why", "when", "where", "able", "well", "new", "help", "join", "looking"));
+
+    private final SkillTaxonomy skillTaxonomy;
+
+    public JobMatchScorer(SkillTaxonomy skillTaxonomy) {
+        this.skillTaxonomy = skillTaxonomy;
+    }
+
+    public JobMatch match(JobDescription jobDescription,
+                          List<WorkExperience> workExperiences,
+                          List<Education> educationList,
+                          List<Skill> skills) {
+        List<Keyword> keywords = keywords(jobText(jobDescription));
+        List<Document> documents = new ArrayList<>();
+        for (WorkExperience experience : workExperiences) {
+            documents.add(experienceDocument(experience));
+        }
+        for (Education education : educationList) {
+            String text = String.join("\n", Objects.toString(education.getDegree(), ""),
+                    Objects.toString(education.getFieldOfStudy(), ""),
+                    Objects.toString(education.getInstitution(), ""),
+                    Objects.toString(education.getDescription(), ""));
+            documents.add(document("education", education.getId(),
+                    education.getDegree() + ", " + education.getInstitution(), text, List.of()));
+        }
+        for (Skill skill : skills) {
+            // A skill row is a whole name, so spellings kept out of free-text matching ("Go") still count
+            documents.add(document("skill", skill.getId() != null ? skill.getId() : 0L, skill.getName(),
+                    skill.getName(), List.of(skillTaxonomy.canonicalize(skill.getName()))));
+        }
+
+        double[] scores = bm25(keywords, documents);
+        double totalWeight = 0;
+        double matchedWeight = 0;
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (Keyword keyword : keywords) {
+            totalWeight += keyword.weight();
+            if (documents.stream().anyMatch(document -> document.termFrequencies().containsKey(keyword.term()))) {
+                matchedWeight += keyword.weight();
+                matched.add(keyword.label());
+            } else {
+                missing.add(keyword.label());
+            }
+        }
+
+        List<EntryMatch> entries = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            if (scores[i] > 0) {
+                Document document = documents.get(i);
+                List<String> entryKeywords = keywords.stream()
+                        .filter(keyword -> document.termFrequencies().containsKey(keyword.term()))
+                        .map(Keyword::label)
+                        .toList();
+                entries.add(new EntryMatch(document.type(), document.id(), document.label(),
+                        Math.round(scores[i] * 1000) / 1000.0, entryKeywords));
+            }
+        }
+        entries.sort(Comparator.comparingDouble(EntryMatch::score).reversed());
+
+        int matchScore = totalWeight > 0 ? (int) Math.round(100 * matchedWeight / totalWeight) : 0;
+        return new JobMatch(matchScore, matched, missing, entries);
+    }
+
+    /**
+     * BM25 score of each experience against the job, in list order; 0 when it shares
+     * no keyword with the job.
+     */
+    public double[] scoreExperiences(JobDescription jobDescription, List<WorkExperience> workExperiences) {
+        List<Document> documents = workExperiences.stream().map(this::experienceDocument).toList();
+        return bm25(keywords(jobText(jobDescription)), documents);
+    }
+
+    private Document experienceDocument(WorkExperience experience) {
+        String text = String.join("\n", Objects.toString(experience.getJobTitle(), ""),
+                Objects.toString(experience.getResponsibilities(), ""),
+                Objects.toString(experience.getAccomplishments(), ""));
+        long id = experience.getId() != null ? experience.getId() : 0L;
+        return document("experience", id, experience.getJobTitle() + " at " + experience.getCompany(), text, List.of());
+    }
+
+    private Document document(String type, long id, String label, String text, List<String> extraSkills) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String word : words(text)) {
+            frequencies.merge(word, 1, Integer::sum);
+            length++;
+        }
+        Set<String> skills = new LinkedHashSet<>(skillTaxonomy.extract(text));
+        skills.addAll(extraSkills);
+        for (String skill : skills) {
+            frequencies.merge(skillTerm(skill), 1, Integer::sum);
+            length++;
+        }
+        return new Document(type, id, label, frequencies, length);
+    }
+
+    // The job's taxonomy skills, then its most frequent remaining words
+    private List<Keyword> keywords(String jobText) {
+        List<Keyword> keywords = new ArrayList<>();
+        Set<String> covered = new HashSet<>();
+        for (String skill : skillTaxonomy.extract(jobText)) {
+            keywords.add(new Keyword(skillTerm(skill), skill, SKILL_WEIGHT));
+            covered.addAll(words(skill));
+        }
+
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String word : words(jobText)) {
+            if (!covered.contains(word)) {
+                frequencies.merge(word, 1, Integer::sum);
+            }
+        }
+        // Stable sort, so equally frequent words keep the order they appear in
+        frequencies.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(MAX_WORD_KEYWORDS)
+                .forEach(entry -> keywords.add(new Keyword(entry.getKey(), entry.getKey(), 1 + Math.log(entry.getValue()))));
+        return keywords;
+    }
+
+    private static double[] bm25(List<Keyword> keywords, List<Document> documents) {
+        double[] scores = new double[documents.size()];
+        if (documents.isEmpty()) {
+            return scores;
+        }
+        double averageLength = Math.max(1.0,
+                documents.stream().mapToInt(Document::length).average().orElse(1.0));
+        int n = documents.size();
+        for (Keyword keyword : keywords) {
+            int df = 0;
+            for (Document document : documents) {
+                if (document.termFrequencies().containsKey(keyword.term())) {
+                    df++;
+                }
+            }
+            if (df == 0) {
+                continue;
+            }
+            double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+            for (int i = 0; i < n; i++) {
+                Integer tf = documents.get(i).termFrequencies().get(keyword.term());
+                if (tf != null) {
+                    double norm = K1 * (1 - B + B * documents.get(i).length() / averageLength);
+                    scores[i] += keyword.weight() * idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static String jobText(JobDescription jobDescription) {
+        return Objects.toString(jobDescription.getJobTitle(), "") + "\n"
+                + Objects.toString(jobDescription.getJobDescription(), "");
+    }
+
+    private static String skillTerm(String canonical) {
+        return SKILL_PREFIX + canonical.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")) {
+            if (word.length() >= 3 && !STOPWORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
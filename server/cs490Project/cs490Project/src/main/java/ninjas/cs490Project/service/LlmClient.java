@@ -0,0 +1,269 @@
+package ninjas.cs490Project.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import ninjas.cs490Project.config.AsyncConfig;
+import ninjas.cs490Project.dto.GPTRequest;
+import ninjas.cs490Project.dto.GPTResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Single non-blocking client for the chat-completions API, shared by resume parsing
+ * and resume generation. Requests go through one pooled, keep-alive connection set;
+ * no caller thread waits on the model. Responses are decoded on the LLM executor
+ * so JSON work stays off the Netty event loop, in a single pass over the body's
+ * bytes (see GptResponseReader).
+ *
+ * Each call is timed as resume.llm.requests and the response's token usage is
+ * counted as resume.llm.tokens, both tagged with the caller's operation and the model.
+ */
+@Component
+public class LlmClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmClient.class);
+
+    // Operation tags, one per kind of prompt
+    public static final String PARSE_RESUME = "parse_resume";
+    public static final String PARSE_FREEFORM = "parse_freeform";
+    public static final String GENERATE_RESUME = "generate_resume";
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SERVER_SENT_EVENTS =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final String STREAM_DONE = "[DONE]";
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final GptResponseReader responseReader;
+    private final Scheduler responseScheduler;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${gpt.api.key}")
+    private String gptApiKey;
+
+    public LlmClient(WebClient.Builder webClientBuilder,
+                     @Qualifier(AsyncConfig.LLM_EXECUTOR) Executor llmExecutor,
+                     MeterRegistry meterRegistry,
+                     @Value("${gpt.api.base-url:https://api.openai.com/v1}") String baseUrl,
+                     @Value("${gpt.client.max-connections:200}") int maxConnections,
+                     @Value("${gpt.client.pending-acquire-max-count:2000}") int pendingAcquireMaxCount,
+                     @Value("${gpt.client.pending-acquire-timeout:30s}") Duration pendingAcquireTimeout,
+                     @Value("${gpt.client.max-idle-time:30s}") Duration maxIdleTime,
+                     @Value("${gpt.client.connect-timeout:10s}") Duration connectTimeout,
+                     @Value("${gpt.client.response-timeout:120s}") Duration responseTimeout) {
+        this.connectionProvider = ConnectionProvider.builder("gpt")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                // Drop idle sockets before the server-side keep-alive does
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+
+        this.webClient = webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        this.objectMapper = new ObjectMapper();
+        // Register the JavaTimeModule to support Java 8 date/time types (e.g., LocalDate)
+        this.objectMapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        // allow single values (e.g. "Java, Python") to be read as arrays if needed
+        this.objectMapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+
+        this.responseReader = new GptResponseReader(objectMapper);
+        this.responseScheduler = Schedulers.fromExecutor(llmExecutor);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Sends the chat request and deserializes the JSON the model returned into the given type,
+     * e.g. ResumeParsingResult or ResumeGenerationResult. The operation (e.g. PARSE_RESUME)
+     * tags the request timer and token counters; the round trip and the decoding are booked
+     * on the job's timings as LLM_REQUEST and LLM_PARSE. A malformed envelope fails with
+     * IllegalStateException; malformed content fails with Jackson's exception so callers
+     * can word their own message.
+     */
+    public <T> Mono<T> complete(String operation, GPTRequest gptRequest, Class<T> resultType, StageTimings timings) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            timings.begin(StageTimings.Stage.LLM_REQUEST);
+            return webClient.post()
+                    .uri("/chat/completions")
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + gptApiKey)
+                    .bodyValue(gptRequest)
+                    .retrieve()
+                    .bodyToMono(byte[].class)
+                    .doOnNext(body -> timings.end(StageTimings.Stage.LLM_REQUEST))
+                    .publishOn(responseScheduler)
+                    .<T>handle((body, sink) -> {
+                        T result;
+                        timings.begin(StageTimings.Stage.LLM_PARSE);
+                        try {
+                            GptResponseReader.Decoded<T> decoded = read(body, resultType);
+                            recordUsage(operation, gptRequest.getModel(), decoded.usage());
+                            result = decoded.result();
+                        } catch (Exception e) {
+                            sink.error(e);
+                            return;
+                        } finally {
+                            timings.end(StageTimings.Stage.LLM_PARSE);
+                        }
+                        // Emitted after the stage ends so downstream work is not booked as parsing
+                        sink.next(result);
+                    })
+                    .doOnSuccess(result -> sample.stop(requestTimer(operation, gptRequest.getModel(), "success")))
+                    .doOnError(error -> {
+                        timings.end(StageTimings.Stage.LLM_REQUEST);
+                        sample.stop(requestTimer(operation, gptRequest.getModel(), "error"));
+                    });
+        });
+    }
+
+    /**
+     * Streaming form of complete: sends the request with stream=true and emits the pieces
+     * of the message content as the model produces them, ending at the "[DONE]" event.
+     * LLM_REQUEST covers the whole stream; usage comes from the final chunk. Decoding what
+     * the pieces add up to is left to the caller.
+     */
+    public Flux<String> stream(String operation, GPTRequest gptRequest, StageTimings timings) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            timings.begin(StageTimings.Stage.LLM_REQUEST);
+            return webClient.post()
+                    .uri("/chat/completions")
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + gptApiKey)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(gptRequest.streaming())
+                    .retrieve()
+                    .bodyToFlux(SERVER_SENT_EVENTS)
+                    .mapNotNull(ServerSentEvent::data)
+                    .takeWhile(data -> !STREAM_DONE.equals(data.trim()))
+                    .publishOn(responseScheduler)
+                    .<String>handle((data, sink) -> {
+                        GPTResponse chunk;
+                        try {
+                            chunk = objectMapper.readValue(data, GPTResponse.class);
+                        } catch (IOException e) {
+                            logger.error("Error parsing GPT stream chunk: {}", e.getMessage());
+                            logger.error("Raw GPT chunk: {}", data);
+                            sink.error(new IllegalStateException("Failed to parse GPT response. Please try again.", e));
+                            return;
+                        }
+                        recordUsage(operation, gptRequest.getModel(), chunk.getUsage());
+                        String delta = delta(chunk);
+                        if (delta != null && !delta.isEmpty()) {
+                            sink.next(delta);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        timings.end(StageTimings.Stage.LLM_REQUEST);
+                        sample.stop(requestTimer(operation, gptRequest.getModel(), "success"));
+                    })
+                    .doOnError(error -> {
+                        timings.end(StageTimings.Stage.LLM_REQUEST);
+                        sample.stop(requestTimer(operation, gptRequest.getModel(), "error"));
+                    });
+        });
+    }
+
+    /**
+     * Synchronous form of the decoding done by complete.
+     */
+    <T> T decode(byte[] body, Class<T> resultType) throws IOException {
+        return read(body, resultType).result();
+    }
+
+    private <T> GptResponseReader.Decoded<T> read(byte[] body, Class<T> resultType) throws IOException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("GPT RAW RESPONSE:\n{}", new String(body, StandardCharsets.UTF_8));
+        }
+        try {
+            return responseReader.read(body, resultType);
+        } catch (GptResponseReader.ContentException e) {
+            logger.error("Error parsing GPT content into {}: {}", resultType.getSimpleName(), e.getMessage());
+            logger.error("Content JSON: {}", e.content());
+            throw (IOException) e.getCause();
+        } catch (IllegalStateException e) {
+            logger.error("Error parsing GPT response: {}", e.getMessage());
+            logger.error("Raw GPT response: {}", new String(body, StandardCharsets.UTF_8));
+            throw new IllegalStateException("Failed to parse GPT response. Please try again.", e);
+        }
+    }
+
+    // The final usage-only chunk has no choices
+    private static String delta(GPTResponse chunk) {
+        if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+            return null;
+        }
+        GPTResponse.GPTMessage delta = chunk.getChoices().get(0).getDelta();
+        return delta != null ? delta.getContent() : null;
+    }
+
+    private Timer requestTimer(String operation, String model, String outcome) {
+        return Timer.builder("resume.llm.requests")
+                .description("Chat-completions round trips, including response decoding")
+                .tag("operation", operation)
+                .tag("model", model)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void recordUsage(String operation, String model, GPTResponse.Usage usage) {
+        if (usage == null) {
+            return;
+        }
+        tokenCounter(operation, model, "prompt").increment(usage.getPromptTokens());
+        tokenCounter(operation, model, "completion").increment(usage.getCompletionTokens());
+    }
+
+    private Counter tokenCounter(String operation, String model, String type) {
+        return Counter.builder("resume.llm.tokens")
+                .description("Tokens billed by the chat-completions API, from the response's usage field")
+                .baseUnit("tokens")
+                .tag("operation", operation)
+                .tag("model", model)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+}
@@ -1,21 +1,40 @@
 package ninjas.cs490Project.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import ninjas.cs490Project.entity.ProcessingStatus;
 import ninjas.cs490Project.repository.ProcessingStatusRepository;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import ninjas.cs490Project.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class ProcessingStatusService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessingStatusService.class);
+
+    public static final String BUSY_MESSAGE = "The server is busy right now. Please try again in a moment.";
     
     @Autowired
     private ProcessingStatusRepository processingStatusRepository;
 
+    @Autowired
+    private StatusEventHub statusEventHub;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     public List<ProcessingStatus> getLatestStatusesForUser(User user, int limit) {
         return processingStatusRepository.findByUserOrderByStartedAtDesc(
             user,
@@ -29,25 +48,160 @@ public class ProcessingStatusService {
     }
 
     public ProcessingStatus createProcessingStatus(User user, ProcessingStatus.ProcessingType type, Long entityId) {
+        return createProcessingStatus(user, type, entityId, null);
+    }
+
+    /**
+     * As above, for a job that is one item of the batch whose status id is parentId.
+     */
+    public ProcessingStatus createProcessingStatus(User user, ProcessingStatus.ProcessingType type, Long entityId,
+                                                   Long parentId) {
         ProcessingStatus status = new ProcessingStatus();
         status.setUser(user);
         status.setProcessingType(type);
         status.setEntityId(entityId);
+        status.setParentId(parentId);
+        status.setStatus(ProcessingStatus.Status.PENDING);
+        status.setStartedAt(Instant.now());
+        ProcessingStatus saved = processingStatusRepository.save(status);
+        statusEventHub.publish(saved);
+        return saved;
+    }
+
+    /**
+     * The parent status of a batch of items jobs. A batch has no entity row of its own,
+     * so entityId is 0; its children point at it through parentId.
+     */
+    public ProcessingStatus createBatchStatus(User user, ProcessingStatus.ProcessingType type, int items) {
+        ProcessingStatus status = new ProcessingStatus();
+        status.setUser(user);
+        status.setProcessingType(type);
+        status.setEntityId(0L);
+        status.setItemsTotal(items);
+        status.setItemsCompleted(0);
+        status.setItemsFailed(0);
         status.setStatus(ProcessingStatus.Status.PENDING);
         status.setStartedAt(Instant.now());
-        return processingStatusRepository.save(status);
+        ProcessingStatus saved = processingStatusRepository.save(status);
+        statusEventHub.publish(saved);
+        return saved;
+    }
+
+    /**
+     * Counts one finished child against its batch and pushes the new progress to the
+     * user's status streams. Finishing the batch itself is left to the caller.
+     */
+    public ProcessingStatus recordBatchProgress(Long batchStatusId, boolean succeeded) {
+        processingStatusRepository.addBatchProgress(batchStatusId, succeeded ? 1 : 0, succeeded ? 0 : 1);
+        ProcessingStatus batch = getStatusById(batchStatusId);
+        statusEventHub.publish(batch);
+        return batch;
+    }
+
+    /**
+     * The JSON shape of a status shared by the status endpoints and the status event
+     * stream: the given display names (see StatusDisplayNameResolver) plus the
+     * status's own fields.
+     */
+    public static Map<String, Object> toPayload(ProcessingStatus status, Map<String, Object> displayNames) {
+        Map<String, Object> payload = new HashMap<>(displayNames);
+        payload.put("id", status.getId());
+        payload.put("type", status.getProcessingType());
+        payload.put("status", status.getStatus());
+        payload.put("startedAt", status.getStartedAt());
+        payload.put("processingStartedAt", status.getProcessingStartedAt());
+        payload.put("completedAt", status.getCompletedAt());
+        payload.put("error", status.getErrorMessage());
+        // Where a finished job's time went, in ms; null for stages it did not run
+        payload.put("stages", StageTimings.durationsOf(status));
+        // Batch generations: the batch a job belongs to, or a batch's child counts
+        payload.put("parentId", status.getParentId());
+        payload.put("progress", progressOf(status));
+        return payload;
+    }
+
+    /**
+     * total/completed/failed child counts of a batch status, null for any other status.
+     */
+    public static Map<String, Integer> progressOf(ProcessingStatus status) {
+        if (status.getItemsTotal() == null) {
+            return null;
+        }
+        Map<String, Integer> progress = new LinkedHashMap<>();
+        progress.put("total", status.getItemsTotal());
+        progress.put("completed", status.getItemsCompleted());
+        progress.put("failed", status.getItemsFailed());
+        return progress;
     }
 
     public ProcessingStatus updateStatus(Long statusId, ProcessingStatus.Status newStatus, String errorMessage) {
+        return updateStatus(statusId, newStatus, errorMessage, null);
+    }
+
+    /**
+     * As above; a finishing job's stage timings, if given, are stored in the same write
+     * and recorded in the resume.stage.duration histograms. A status that is already
+     * COMPLETED or FAILED is final and is returned unchanged.
+     */
+    public ProcessingStatus updateStatus(Long statusId, ProcessingStatus.Status newStatus, String errorMessage,
+                                         StageTimings timings) {
         ProcessingStatus status = getStatusById(statusId);
+        if (isFinished(status)) {
+            logger.warn("Ignoring {} for status {}, which is already {}", newStatus, statusId, status.getStatus());
+            return status;
+        }
+        Instant now = Instant.now();
         status.setStatus(newStatus);
         if (errorMessage != null) {
             status.setErrorMessage(errorMessage);
         }
+        if (newStatus == ProcessingStatus.Status.PROCESSING && status.getProcessingStartedAt() == null) {
+            status.setProcessingStartedAt(now);
+            record("resume.status.pending", "Time a job waited in PENDING before processing began",
+                    status, status.getStartedAt(), now);
+        }
         if (newStatus == ProcessingStatus.Status.COMPLETED || newStatus == ProcessingStatus.Status.FAILED) {
-            status.setCompletedAt(Instant.now());
+            status.setCompletedAt(now);
+            record("resume.status.processing", "Time from PROCESSING to COMPLETED or FAILED",
+                    status, status.getProcessingStartedAt(), now);
+            record("resume.status.total", "Time from job creation to COMPLETED or FAILED",
+                    status, status.getStartedAt(), now);
+            if (timings != null) {
+                timings.applyTo(status);
+                recordStages(status, timings);
+            }
+        }
+        ProcessingStatus saved = processingStatusRepository.save(status);
+        // Push the transition to the user's open status streams
+        statusEventHub.publish(saved);
+        return saved;
+    }
+
+    // Tagged by job type, and by outcome once the job has finished
+    private void record(String name, String description, ProcessingStatus status, Instant from, Instant to) {
+        if (from == null) {
+            return;
+        }
+        Timer.Builder timer = Timer.builder(name)
+                .description(description)
+                .tag("type", status.getProcessingType().name());
+        if (status.getStatus() != ProcessingStatus.Status.PROCESSING) {
+            timer.tag("status", status.getStatus().name());
+        }
+        timer.register(meterRegistry).record(Duration.between(from, to));
+    }
+
+    private void recordStages(ProcessingStatus status, StageTimings timings) {
+        for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+            if (timings.ran(stage)) {
+                Timer.builder("resume.stage.duration")
+                        .description("Time a finished job spent in each pipeline stage")
+                        .tag("stage", stage.name().toLowerCase())
+                        .tag("type", status.getProcessingType().name())
+                        .register(meterRegistry)
+                        .record(Duration.ofMillis(timings.millis(stage)));
+            }
         }
-        return processingStatusRepository.save(status);
     }
 
     public ProcessingStatus startProcessing(Long statusId) {
@@ -58,7 +212,35 @@ public class ProcessingStatusService {
         return updateStatus(statusId, ProcessingStatus.Status.COMPLETED, null);
     }
 
+    public ProcessingStatus completeProcessing(Long statusId, StageTimings timings) {
+        return updateStatus(statusId, ProcessingStatus.Status.COMPLETED, null, timings);
+    }
+
     public ProcessingStatus failProcessing(Long statusId, String errorMessage) {
         return updateStatus(statusId, ProcessingStatus.Status.FAILED, errorMessage);
     }
+
+    public ProcessingStatus failProcessing(Long statusId, String errorMessage, StageTimings timings) {
+        return updateStatus(statusId, ProcessingStatus.Status.FAILED, errorMessage, timings);
+    }
+
+    public static boolean isFinished(ProcessingStatus status) {
+        return status.getStatus() == ProcessingStatus.Status.COMPLETED
+                || status.getStatus() == ProcessingStatus.Status.FAILED;
+    }
+
+    // Pool saturation, as opposed to a real processing error
+    public static boolean isRejection(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Used when a worker pool's queue is full, so the job is reported instead of silently dropped
+    public ProcessingStatus rejectProcessing(Long statusId) {
+        return failProcessing(statusId, BUSY_MESSAGE);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.entity.ProcessingStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate maps processing_status.processing_type to a MySQL ENUM column, and
+ * ddl-auto=update never changes an existing column's type. Widens that ENUM when a
+ * ProcessingType value is missing from it (GENERATED_RESUME_BATCH on databases created
+ * before batch generation), so inserting the new type does not fail. A no-op otherwise,
+ * and on databases other than MySQL.
+ */
+@Component
+public class ProcessingTypeColumnUpgrade {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessingTypeColumnUpgrade.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProcessingTypeColumnUpgrade(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void upgrade() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            return;
+        }
+
+        List<String> columnTypes = jdbcTemplate.queryForList("SELECT COLUMN_TYPE FROM information_schema.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'processing_status' "
+                + "AND COLUMN_NAME = 'processing_type'", String.class);
+        if (columnTypes.isEmpty() || !columnTypes.get(0).toLowerCase().startsWith("enum(")) {
+            return;
+        }
+        String columnType = columnTypes.get(0);
+        boolean complete = Arrays.stream(ProcessingStatus.ProcessingType.values())
+                .allMatch(type -> columnType.contains("'" + type.name() + "'"));
+        if (complete) {
+            return;
+        }
+
+        String values = Arrays.stream(ProcessingStatus.ProcessingType.values())
+                .map(type -> "'" + type.name() + "'")
+                .collect(Collectors.joining(","));
+        jdbcTemplate.execute("ALTER TABLE processing_status MODIFY processing_type ENUM(" + values + ") NOT NULL");
+        logger.info("Widened processing_status.processing_type from {} to ENUM({})", columnType, values);
+    }
+}
@@ -0,0 +1,116 @@
+package ninjas.cs490Project.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ninjas.cs490Project.entity.UploadedResume;
+import ninjas.cs490Project.repository.UploadedResumeRepository;
+import ninjas.cs490Project.service.storage.BlobStore;
+import ninjas.cs490Project.service.storage.StoredBlob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Moves original resume files between uploads, the BlobStore and readers. Files are
+ * streamed, never held whole in the heap; rows stored before the BlobStore existed
+ * are still read from the legacy file_data column.
+ */
+@Service
+public class ResumeFileService {
+
+    /**
+     * What a download needs to know about an uploaded file. An uploaded resume's file
+     * never changes, so this is cached and repeat downloads skip the database.
+     */
+    public record StoredFile(Long resumeId, String ownerEmail, String title, String storageKey,
+                             String contentHash, String contentType) {
+    }
+
+    private final BlobStore blobStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final UploadedResumeRepository uploadedResumeRepository;
+    private final Cache<Long, StoredFile> storedFiles;
+
+    public ResumeFileService(BlobStore blobStore,
+                             JdbcTemplate jdbcTemplate,
+                             UploadedResumeRepository uploadedResumeRepository,
+                             @Value("${resume.storage.metadata-cache.max-entries:10000}") long maxEntries) {
+        this.blobStore = blobStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.uploadedResumeRepository = uploadedResumeRepository;
+        this.storedFiles = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Streams the upload into the BlobStore and records its key, size, type and hash on the resume.
+     */
+    public void store(UploadedResume resume, MultipartFile file) throws IOException {
+        StoredBlob blob;
+        try (InputStream in = file.getInputStream()) {
+            blob = blobStore.put(in);
+        }
+        resume.setStorageKey(blob.key());
+        resume.setContentHash(blob.sha256());
+        resume.setFileSize(blob.size());
+        resume.setContentType(file.getContentType());
+    }
+
+    public Optional<StoredFile> find(Long resumeId) {
+        StoredFile cached = storedFiles.getIfPresent(resumeId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<StoredFile> stored = uploadedResumeRepository.findById(resumeId)
+                .map(resume -> new StoredFile(resume.getId(), resume.getUser().getEmail(), resume.getTitle(),
+                        resume.getStorageKey(), resume.getContentHash(), resume.getContentType()));
+        stored.ifPresent(file -> storedFiles.put(resumeId, file));
+        return stored;
+    }
+
+    /**
+     * Returns a lazily opened handle to the file; nothing is read until the body is written.
+     */
+    public Resource load(StoredFile file) throws IOException {
+        return load(file.resumeId(), file.storageKey());
+    }
+
+    public InputStream open(UploadedResume resume) throws IOException {
+        return load(resume.getId(), resume.getStorageKey()).getInputStream();
+    }
+
+    private Resource load(Long resumeId, String storageKey) throws IOException {
+        if (storageKey != null) {
+            return blobStore.get(storageKey);
+        }
+        return loadLegacy(resumeId);
+    }
+
+    private Resource loadLegacy(Long resumeId) throws IOException {
+        List<byte[]> rows;
+        try {
+            rows = jdbcTemplate.query(
+                    "SELECT file_data FROM uploaded_resumes WHERE id = ?",
+                    (rs, rowNum) -> rs.getBytes(1),
+                    resumeId);
+        } catch (DataAccessException e) {
+            // Schemas created after the move have no file_data column
+            throw new FileNotFoundException("No stored file for resume " + resumeId);
+        }
+        if (rows.isEmpty() || rows.get(0) == null) {
+            throw new FileNotFoundException("No stored file for resume " + resumeId);
+        }
+        return new ByteArrayResource(rows.get(0));
+    }
+}
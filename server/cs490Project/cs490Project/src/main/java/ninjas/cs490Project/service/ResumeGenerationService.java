@@ -1,7 +1,9 @@
 package ninjas.cs490Project.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import ninjas.cs490Project.config.AsyncConfig;
 import ninjas.cs490Project.dto.GPTRequest;
 import ninjas.cs490Project.dto.Message;
 import ninjas.cs490Project.dto.ResumeGenerationResult;
@@ -16,30 +18,45 @@ import ninjas.cs490Project.entity.WorkExperience;
 import ninjas.cs490Project.entity.Skill;
 import ninjas.cs490Project.entity.Profile;
 import ninjas.cs490Project.repository.EducationRepository;
+import ninjas.cs490Project.repository.GeneratedResumeRepository;
 import ninjas.cs490Project.repository.JobDescriptionRepository;
 import ninjas.cs490Project.repository.WorkExperienceRepository;
 import ninjas.cs490Project.repository.ProfileRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import lombok.Data;
-
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 @Service
 public class ResumeGenerationService {
     private static final Logger logger = LoggerFactory.getLogger(ResumeGenerationService.class);
 
-    private final WebClient webClient;
+    private final LlmClient llmClient;
     private final ObjectMapper objectMapper;
     private final WorkExperienceRepository workExperienceRepository;
     private final EducationRepository educationRepository;
@@ -47,232 +64,410 @@ public class ResumeGenerationService {
     private final ProcessingStatusService processingStatusService;
     private final ResumeService resumeService;
     private final SkillService skillService;
+    private final ResumePromptBuilder resumePromptBuilder;
     private final ProfileRepository profileRepository;
-
-    @Value("${gpt.api.key}")
-    private String gptApiKey;
-
-    public ResumeGenerationService(WebClient.Builder webClientBuilder,
+    private final GeneratedResumeRepository generatedResumeRepository;
+    private final FairGenerationScheduler fairGenerationScheduler;
+    private final Scheduler persistenceScheduler;
+    private final int maxBatchJobs;
+    private final Counter generationCacheHits;
+    private final Counter generationCacheMisses;
+    private final Timer timeToFirstSection;
+
+    public ResumeGenerationService(LlmClient llmClient,
                                    WorkExperienceRepository workExperienceRepository,
                                    EducationRepository educationRepository,
                                    JobDescriptionRepository jobDescriptionRepository,
                                    ProcessingStatusService processingStatusService,
                                    ResumeService resumeService,
                                    SkillService skillService,
-                                   ProfileRepository profileRepository) {
-        this.webClient = webClientBuilder.baseUrl("https://api.openai.com/v1").build();
+                                   ResumePromptBuilder resumePromptBuilder,
+                                   ProfileRepository profileRepository,
+                                   GeneratedResumeRepository generatedResumeRepository,
+                                   FairGenerationScheduler fairGenerationScheduler,
+                                   MeterRegistry meterRegistry,
+                                   @Qualifier(AsyncConfig.PERSISTENCE_EXECUTOR) Executor persistenceExecutor,
+                                   @Value("${resume.generation.batch.max-jobs:50}") int maxBatchJobs) {
+        this.llmClient = llmClient;
         this.objectMapper = new ObjectMapper()
                 // allow single values (e.g. "Java, Python") to be read as arrays if needed
-                .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+                .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
+                // streamed results are bound here, so tolerate fields the model adds
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         this.workExperienceRepository = workExperienceRepository;
         this.educationRepository = educationRepository;
         this.jobDescriptionRepository = jobDescriptionRepository;
         this.processingStatusService = processingStatusService;
         this.resumeService = resumeService;
         this.skillService = skillService;
+        this.resumePromptBuilder = resumePromptBuilder;
         this.profileRepository = profileRepository;
+        this.generatedResumeRepository = generatedResumeRepository;
+        this.fairGenerationScheduler = fairGenerationScheduler;
+        this.persistenceScheduler = Schedulers.fromExecutor(persistenceExecutor);
+        this.maxBatchJobs = maxBatchJobs;
+        this.generationCacheHits = meterRegistry.counter("resume.generation.cache.lookups", "result", "hit");
+        this.generationCacheMisses = meterRegistry.counter("resume.generation.cache.lookups", "result", "miss");
+        this.timeToFirstSection = Timer.builder("resume.generation.first.section")
+                .description("Time from a streamed generation's request to its first resume section")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the career data and stores the result on the persistence pool; the GPT call
+     * in between is non-blocking, so no thread is held while the model responds.
+     * If an earlier resume was generated from exactly the same job description, career
+     * data and profile, its content is reused and GPT is not called at all.
+     */
+    public void generateResume(User user, Long jobId, GeneratedResume savedResume, ProcessingStatus status) {
+        StageTimings timings = new StageTimings(status.getStartedAt());
+        run(user, prepare(user, jobId, status, timings), savedResume, status, timings, completeWith(timings)).subscribe();
+    }
+
+    /**
+     * Callbacks of a streamed generation, made in order from pool threads.
+     */
+    public interface GenerationListener {
+        void onSection(ResumeSectionParser.Section section);
+
+        void onComplete(GeneratedResume resume);
+
+        void onError(String message);
     }
 
-    @Async
-    public void generateResume(User user, Long jobId, GeneratedResume savedResume, ProcessingStatus status) throws Exception {
+    /**
+     * As generateResume, but the model streams its answer and each section of the resume
+     * (the skills, then every work experience and education entry) goes to the listener
+     * as soon as it has arrived whole, instead of after the full completion. The result
+     * is stored and the status finished as for generateResume; reused content is passed
+     * to the listener section by section straight away.
+     */
+    public void streamResume(User user, Long jobId, GeneratedResume savedResume, ProcessingStatus status,
+                             GenerationListener listener) {
+        StageTimings timings = new StageTimings(status.getStartedAt());
+        AtomicBoolean firstSection = new AtomicBoolean(true);
+        ResumeSectionParser parser;
         try {
-            processingStatusService.startProcessing(status.getId());
-
-            JobDescription jobDescription = jobDescriptionRepository.findById(jobId)
-                    .orElseThrow(() -> new IllegalArgumentException("Job description not found"));
-
-            List<WorkExperience> workExperiences = workExperienceRepository.findByUserId(user.getId());
-            List<Education> educationList = educationRepository.findByUserId(user.getId());
-            List<Skill> userSkills = skillService.getUserSkills(user);
-            Profile profile = profileRepository.findByUser(user);
-
-            String prompt = buildPrompt(jobDescription, workExperiences, educationList, user, userSkills, profile);
-
-            GPTRequest gptRequest = new GPTRequest(
-                    "gpt-3.5-turbo",
-                    List.of(
-                            new Message("system", "You are an expert resume writer and career consultant, specializing in optimizing resumes for Applicant Tracking Systems (ATS). Your task is to generate personalized, keyword-optimized resumes that align a candidate's experience and skills with a specific job description. Format your response strictly as JSON, following the provided schema. Do not include any extra commentary."),
-                            new Message("user", prompt)
-                    )
-            );
-
-            String rawGptResponse = webClient.post()
-                    .uri("/chat/completions")
-                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + gptApiKey)
-                    .bodyValue(gptRequest)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            ResumeGenerationResult result = parseGptResponse(rawGptResponse, user, profile);
-
-            savedResume.setContent(objectMapper.writeValueAsString(result));
-            savedResume.setUpdatedAt(Instant.now());
-            resumeService.storeGeneratedResume(savedResume);
-            processingStatusService.completeProcessing(status.getId());
-        } catch (Exception e) {
-            processingStatusService.failProcessing(status.getId(), e.getMessage());
-            throw e;
+            parser = new ResumeSectionParser(objectMapper, section -> {
+                if (firstSection.compareAndSet(true, false)) {
+                    timeToFirstSection.record(Duration.between(status.getStartedAt(), Instant.now()));
+                }
+                listener.onSection(section);
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create resume stream parser", e);
         }
+
+        Mono<PreparedGeneration> prepared = prepare(user, jobId, status, timings)
+                .handle((generation, sink) -> {
+                    if (generation.content() != null) {
+                        try {
+                            parser.feed(generation.content());
+                        } catch (IOException e) {
+                            sink.error(e);
+                            return;
+                        }
+                    }
+                    sink.next(generation);
+                });
+        Function<GPTRequest, Mono<ResumeGenerationResult>> model = request ->
+                llmClient.stream(LlmClient.GENERATE_RESUME, request, timings)
+                        .<Void>handle((piece, sink) -> {
+                            try {
+                                parser.feed(piece);
+                            } catch (IOException e) {
+                                sink.error(e);
+                            }
+                        })
+                        .then(Mono.fromCallable(() -> timings.time(StageTimings.Stage.LLM_PARSE, parser::finish)));
+        generate(user, prepared, savedResume, status, timings, model)
+                .subscribe(
+                        stored -> listener.onComplete(savedResume),
+                        error -> {
+                            recordFailure(savedResume, status, timings, error);
+                            listener.onError(failureMessage(error));
+                        });
     }
 
-    private String buildPrompt(JobDescription jobDescription,
-                               List<WorkExperience> workExperiences,
-                               List<Education> educationList,
-                               User user,
-                               List<Skill> userSkills,
-                               Profile profile) {
-
-        StringBuilder skillsSection = new StringBuilder();
-        if (userSkills != null && !userSkills.isEmpty()) {
-            skillsSection.append("Skills: ");
-            for (int i = 0; i < userSkills.size(); i++) {
-                skillsSection.append(userSkills.get(i).getName());
-                if (i < userSkills.size() - 1) {
-                    skillsSection.append(", ");
-                }
+    private Mono<PreparedGeneration> prepare(User user, Long jobId, ProcessingStatus status, StageTimings timings) {
+        return Mono.fromCallable(() -> timings.time(StageTimings.Stage.PERSISTENCE, () -> {
+                    processingStatusService.startProcessing(status.getId());
+                    JobDescription jobDescription = jobDescriptionRepository.findById(jobId)
+                            .orElseThrow(() -> new IllegalArgumentException("Job description not found"));
+                    return prepareGeneration(user, jobDescription, loadCareer(user));
+                }))
+                .subscribeOn(persistenceScheduler);
+    }
+
+    /**
+     * One generation of a batch: the job, its pending GeneratedResume and its child status.
+     */
+    public record BatchItem(JobDescription jobDescription, GeneratedResume resume, ProcessingStatus status) {
+    }
+
+    public record GenerationBatch(ProcessingStatus status, List<BatchItem> items) {
+    }
+
+    /**
+     * Starts one generation per job, under a single batch status whose progress counts
+     * the children as they finish. Every job must belong to the user; duplicates are
+     * generated once. The career data is loaded once for the whole batch, and the GPT
+     * calls go through FairGenerationScheduler so a large batch cannot crowd out other
+     * users. Each child's status is pushed to the user's status stream as it finishes.
+     */
+    public GenerationBatch startBatch(User user, List<Long> jobIds) {
+        List<Long> distinctIds = jobIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            throw new IllegalArgumentException("jobIds is required");
+        }
+        if (distinctIds.size() > maxBatchJobs) {
+            throw new IllegalArgumentException("At most " + maxBatchJobs + " jobs can be generated in one batch");
+        }
+        Map<Long, JobDescription> jobs = new HashMap<>();
+        for (JobDescription job : jobDescriptionRepository.findAllById(distinctIds)) {
+            jobs.put((long) job.getId(), job);
+        }
+        for (Long jobId : distinctIds) {
+            JobDescription job = jobs.get(jobId);
+            if (job == null || job.getUser().getId() != user.getId()) {
+                throw new IllegalArgumentException("Job description not found: " + jobId);
             }
-            skillsSection.append("\n");
         }
 
-        StringBuilder careerHistory = new StringBuilder();
-        for (WorkExperience exp : workExperiences) {
-            careerHistory.append(String.format(
-                    "Company: %s\nTitle: %s\nPeriod: %s to %s\nResponsibilities: %s\nAccomplishments: %s\n\n",
-                    exp.getCompany(),
-                    exp.getJobTitle(),
-                    exp.getStartDate(),
-                    exp.getEndDate() != null ? exp.getEndDate() : "Present",
-                    exp.getResponsibilities() != null ? exp.getResponsibilities() : "",
-                    exp.getAccomplishments() != null ? exp.getAccomplishments() : ""
-            ));
+        ProcessingStatus batchStatus = processingStatusService.createBatchStatus(
+                user, ProcessingStatus.ProcessingType.GENERATED_RESUME_BATCH, distinctIds.size());
+        List<BatchItem> items = new ArrayList<>(distinctIds.size());
+        for (Long jobId : distinctIds) {
+            GeneratedResume resume = new GeneratedResume();
+            resume.setCreatedAt(Instant.now());
+            resume.setUpdatedAt(Instant.now());
+            resume.setJobDescription(jobs.get(jobId));
+            resume.setUser(user);
+            GeneratedResume savedResume = resumeService.storeGeneratedResume(resume);
+            ProcessingStatus status = processingStatusService.createProcessingStatus(
+                    user, ProcessingStatus.ProcessingType.GENERATED_RESUME, savedResume.getId(), batchStatus.getId());
+            items.add(new BatchItem(jobs.get(jobId), savedResume, status));
         }
+        logger.info("Started {} resume generations in batch {} for user {}", items.size(), batchStatus.getId(), user.getId());
+
+        generateBatch(user, batchStatus, items);
+        return new GenerationBatch(batchStatus, items);
+    }
+
+    private void generateBatch(User user, ProcessingStatus batchStatus, List<BatchItem> items) {
+        Set<Long> finished = ConcurrentHashMap.newKeySet();
+        Mono.fromCallable(() -> {
+                    processingStatusService.startProcessing(batchStatus.getId());
+                    return loadCareer(user);
+                })
+                .subscribeOn(persistenceScheduler)
+                .flatMapMany(career -> Flux.fromIterable(items)
+                        .flatMap(item -> fairGenerationScheduler.schedule(user.getId(), generateItem(user, item, career))
+                                // Whatever happens to one item stays with it; its siblings keep running
+                                .onErrorResume(error -> {
+                                    logger.error("Error in resume batch {} for resume {}: {}",
+                                            batchStatus.getId(), item.resume().getId(), error.getMessage());
+                                    return Mono.just(false);
+                                })
+                                .doOnNext(succeeded -> finished.add(item.status().getId()))
+                                .flatMap(succeeded -> recordBatchProgress(batchStatus, succeeded)),
+                                items.size()))
+                .filter(succeeded -> !succeeded)
+                .count()
+                .subscribe(
+                        failed -> {
+                            if (failed == 0) {
+                                processingStatusService.completeProcessing(batchStatus.getId());
+                            } else if (failed < items.size()) {
+                                processingStatusService.updateStatus(batchStatus.getId(), ProcessingStatus.Status.COMPLETED,
+                                        failed + " of " + items.size() + " resumes failed");
+                            } else {
+                                processingStatusService.failProcessing(batchStatus.getId(), "All " + items.size() + " resumes failed");
+                            }
+                        },
+                        error -> {
+                            // Starting the batch or loading the shared career data failed
+                            logger.error("Error in resume batch {}: {}", batchStatus.getId(), error.getMessage());
+                            String message = failureMessage(error);
+                            for (BatchItem item : items) {
+                                if (!finished.contains(item.status().getId())) {
+                                    processingStatusService.failProcessing(item.status().getId(), message);
+                                }
+                            }
+                            processingStatusService.failProcessing(batchStatus.getId(), message);
+                        });
+    }
+
+    // Progress is only reporting; a full persistence pool or a failed write is logged, not fatal
+    private Mono<Boolean> recordBatchProgress(ProcessingStatus batchStatus, boolean succeeded) {
+        return Mono.fromRunnable(() -> processingStatusService.recordBatchProgress(batchStatus.getId(), succeeded))
+                .subscribeOn(persistenceScheduler)
+                .onErrorResume(error -> {
+                    logger.warn("Could not record progress of resume batch {}: {}", batchStatus.getId(), error.getMessage());
+                    return Mono.empty();
+                })
+                .thenReturn(succeeded);
+    }
+
+    private Mono<Boolean> generateItem(User user, BatchItem item, CareerSnapshot career) {
+        StageTimings timings = new StageTimings(item.status().getStartedAt());
+        Mono<PreparedGeneration> prepared = Mono.fromCallable(() -> timings.time(StageTimings.Stage.PERSISTENCE, () -> {
+                    processingStatusService.startProcessing(item.status().getId());
+                    return prepareGeneration(user, item.jobDescription(), career);
+                }))
+                .subscribeOn(persistenceScheduler);
+        return run(user, prepared, item.resume(), item.status(), timings, completeWith(timings));
+    }
+
+    private Function<GPTRequest, Mono<ResumeGenerationResult>> completeWith(StageTimings timings) {
+        return request -> llmClient.complete(LlmClient.GENERATE_RESUME, request, ResumeGenerationResult.class, timings);
+    }
+
+    /**
+     * As generate, but emits whether the generation succeeded; failures are recorded on
+     * the status, not propagated.
+     */
+    private Mono<Boolean> run(User user, Mono<PreparedGeneration> prepared, GeneratedResume savedResume,
+                              ProcessingStatus status, StageTimings timings,
+                              Function<GPTRequest, Mono<ResumeGenerationResult>> model) {
+        return generate(user, prepared, savedResume, status, timings, model)
+                .onErrorResume(error -> {
+                    recordFailure(savedResume, status, timings, error);
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Asks the model (unless the content was reused), stores the result and finishes the
+     * status.
+     */
+    private Mono<Boolean> generate(User user, Mono<PreparedGeneration> prepared, GeneratedResume savedResume,
+                                   ProcessingStatus status, StageTimings timings,
+                                   Function<GPTRequest, Mono<ResumeGenerationResult>> model) {
+        return prepared
+                .flatMap(generation -> generation.content() != null
+                        ? Mono.just(generation)
+                        : model.apply(generation.gptRequest())
+                                .onErrorMap(JsonProcessingException.class,
+                                        e -> new Exception("Failed to generate resume. Please try again.", e))
+                                .map(result -> generation.withContent(
+                                        serialize(withPersonalInfo(result, user, generation.profile())))))
+                .publishOn(persistenceScheduler)
+                .map(generation -> {
+                    timings.time(StageTimings.Stage.PERSISTENCE, () -> storeResult(savedResume, generation));
+                    processingStatusService.completeProcessing(status.getId(), timings);
+                    return true;
+                });
+    }
 
-        StringBuilder educationHistory = new StringBuilder();
-        for (Education edu : educationList) {
-            educationHistory.append(String.format(
-                    "Institution: %s\nDegree: %s\nField: %s\nPeriod: %s to %s\nGPA: %s\nDescription: %s\n\n",
-                    edu.getInstitution(),
-                    edu.getDegree(),
-                    edu.getFieldOfStudy(),
-                    edu.getStartDate(),
-                    edu.getEndDate(),
-                    edu.getGpa(),
-                    edu.getDescription()
-            ));
+    private void recordFailure(GeneratedResume savedResume, ProcessingStatus status, StageTimings timings, Throwable error) {
+        logger.error("Error generating resume {}: {}", savedResume.getId(), error.getMessage());
+        if (ProcessingStatusService.isRejection(error)) {
+            processingStatusService.rejectProcessing(status.getId());
+        } else {
+            processingStatusService.failProcessing(status.getId(), error.getMessage(), timings);
         }
+    }
 
-        String jobTitle = jobDescription.getJobTitle() != null ? jobDescription.getJobTitle() : "";
-        String jobDesc = jobDescription.getJobDescription() != null ? jobDescription.getJobDescription() : "";
-
-        return String.format("""
-            You are an expert resume writer with specialized knowledge in Applicant Tracking Systems (ATS). Your task is to generate a highly targeted resume based on the candidate's information, optimized for the following job description:
-
-            JOB TITLE: %s
-            JOB DESCRIPTION:
-            %s
-
-            CANDIDATE SKILLS:
-            %s
-
-            CANDIDATE'S WORK EXPERIENCE:
-            %s
-
-            CANDIDATE'S EDUCATION:
-            %s
-
-            Generate a resume in JSON format following this exact schema:
-            {
-              "skills": ["string","string",…],
-              "educationList": [
-                {
-                  "institution": "string",
-                  "degree": "string",
-                  "fieldOfStudy": "string",
-                  "startDate": "YYYY-MM-DD",
-                  "endDate": "YYYY-MM-DD",
-                  "description": "string",
-                  "gpa": number
-                }
-              ],
-              "workExperienceList": [
-                {
-                  "company": "string",
-                  "jobTitle": "string",
-                  "startDate": "YYYY-MM-DD",
-                  "endDate": "YYYY-MM-DD",
-                  "responsibilities": "string",
-                  "accomplishments": "string"
-                }
-              ]
-            }
+    private static String failureMessage(Throwable error) {
+        return ProcessingStatusService.isRejection(error) ? ProcessingStatusService.BUSY_MESSAGE : error.getMessage();
+    }
 
-            Instructions:
-            1. Extract 8–12 relevant keywords from the job description and integrate them meaningfully.
-            2. For work experience:
-               - Responsibilities should list daily tasks and duties
-               - Accomplishments should highlight specific achievements, metrics, and impact
-               - Format both as bullet points or short paragraphs
-               - Keep responsibilities and accomplishments separate and distinct
-            3. Prioritize skills most relevant to the job.
-            4. Maintain original job titles, company names, and date ranges.
-            5. Ensure all dates maintain YYYY-MM-DD format.
-            6. Make sure "skills" is an actual JSON array, e.g.: ["Java","Python","SQL",…]
-            7. Return ONLY the JSON with no additional commentary.
-            8. Use empty strings or 0 for any missing data, never null values.
-            """,
-                jobTitle,
-                jobDesc,
-                skillsSection.toString(),
-                careerHistory.toString(),
-                educationHistory.toString()
-        );
+    private record PreparedGeneration(GPTRequest gptRequest, Profile profile, String inputDigest, String content) {
+        PreparedGeneration withContent(String content) {
+            return new PreparedGeneration(gptRequest, profile, inputDigest, content);
+        }
     }
 
-    @Data
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    private static class GPTResponse {
-        private List<Choice> choices;
+    // Everything about the user a prompt needs besides the job, shared by a batch's generations
+    private record CareerSnapshot(List<WorkExperience> workExperiences, List<Education> educationList,
+                                  List<Skill> skills, Profile profile) {
     }
 
-    @Data
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    private static class Choice {
-        private GPTMessage message;
+    private CareerSnapshot loadCareer(User user) {
+        return new CareerSnapshot(
+                workExperienceRepository.findByUserId(user.getId()),
+                educationRepository.findByUserId(user.getId()),
+                skillService.getUserSkills(user),
+                profileRepository.findByUser(user));
     }
 
-    @Data
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    private static class GPTMessage {
-        private String role;
-        private String content;
+    private PreparedGeneration prepareGeneration(User user, JobDescription jobDescription, CareerSnapshot career) {
+        ResumePromptBuilder.Prompt prompt = resumePromptBuilder.build(
+                jobDescription, career.workExperiences(), career.educationList(), career.skills());
+        logger.info("Generation prompt for job {}: {} tokens, {}/{} experiences and {}/{} skills in full",
+                jobDescription.getId(), prompt.tokens(), prompt.experiencesInFull(), prompt.experiences(),
+                prompt.skillsIncluded(), prompt.skills());
+
+        GPTRequest gptRequest = new GPTRequest(
+                "gpt-3.5-turbo",
+                List.of(
+                        new Message("system", "You are an expert resume writer and career consultant, specializing in optimizing resumes for Applicant Tracking Systems (ATS). Your task is to generate personalized, keyword-optimized resumes that align a candidate's experience and skills with a specific job description. Format your response strictly as JSON, following the provided schema. Do not include any extra commentary."),
+                        new Message("user", prompt.text())
+                )
+        );
+
+        // Any change to the job, career, education, skill or profile rows changes the digest
+        Profile profile = career.profile();
+        String inputDigest = inputDigest(gptRequest, user, profile);
+        String cachedContent = generatedResumeRepository
+                .findFirstByUserAndInputDigestAndContentIsNotNullOrderByUpdatedAtDesc(user, inputDigest)
+                .map(GeneratedResume::getContent)
+                .orElse(null);
+        if (cachedContent != null) {
+            logger.info("Reusing generated resume content for unchanged inputs (job {})", jobDescription.getId());
+            generationCacheHits.increment();
+        } else {
+            generationCacheMisses.increment();
+        }
+        return new PreparedGeneration(gptRequest, profile, inputDigest, cachedContent);
+    }
+
+    private String inputDigest(GPTRequest gptRequest, User user, Profile profile) {
+        StringBuilder input = new StringBuilder(gptRequest.getModel());
+        for (Message message : gptRequest.getMessages()) {
+            input.append('\u0000').append(message.getRole()).append('\u0000').append(message.getContent());
+        }
+        // Personal info is copied into the result outside the prompt
+        input.append('\u0000').append(user.getFirstName())
+                .append('\u0000').append(user.getLastName())
+                .append('\u0000').append(user.getUsername());
+        if (profile != null) {
+            input.append('\u0000').append(profile.getPhone())
+                    .append('\u0000').append(profile.getAddress());
+        }
+        return ResumeParseCache.sha256(input.toString().getBytes(StandardCharsets.UTF_8));
     }
 
-    private ResumeGenerationResult parseGptResponse(String rawGptResponse, User user, Profile profile) throws Exception {
+    private String serialize(ResumeGenerationResult result) {
         try {
-            var gptResponseObj = objectMapper.readValue(rawGptResponse, GPTResponse.class);
-            String contentJson = gptResponseObj.getChoices().get(0).getMessage().getContent();
-            ResumeGenerationResult result = objectMapper.readValue(contentJson, ResumeGenerationResult.class);
-
-            ResumeGenerationResult.PersonalInfo personalInfo = new ResumeGenerationResult.PersonalInfo();
-            personalInfo.setFirstName(user.getFirstName());
-            personalInfo.setLastName(user.getLastName());
-            personalInfo.setEmail(user.getUsername());
-            if (profile != null) {
-                personalInfo.setPhone(profile.getPhone() != null ? profile.getPhone() : "");
-                personalInfo.setAddress(profile.getAddress() != null ? profile.getAddress() : "");
-            }
-            result.setPersonalInfo(personalInfo);
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store generated resume", e);
+        }
+    }
+
+    private void storeResult(GeneratedResume savedResume, PreparedGeneration generation) {
+        savedResume.setContent(generation.content());
+        savedResume.setInputDigest(generation.inputDigest());
+        savedResume.setUpdatedAt(Instant.now());
+        resumeService.storeGeneratedResume(savedResume);
+    }
 
-            return result;
-        } catch (Exception e) {
-            logger.error("Error parsing GPT response: {}", e.getMessage());
-            throw new Exception("Failed to generate resume. Please try again.");
+    private ResumeGenerationResult withPersonalInfo(ResumeGenerationResult result, User user, Profile profile) {
+        ResumeGenerationResult.PersonalInfo personalInfo = new ResumeGenerationResult.PersonalInfo();
+        personalInfo.setFirstName(user.getFirstName());
+        personalInfo.setLastName(user.getLastName());
+        personalInfo.setEmail(user.getUsername());
+        if (profile != null) {
+            personalInfo.setPhone(profile.getPhone() != null ? profile.getPhone() : "");
+            personalInfo.setAddress(profile.getAddress() != null ? profile.getAddress() : "");
         }
+        result.setPersonalInfo(personalInfo);
+        return result;
     }
 
-    @Async
+    @Async(AsyncConfig.LLM_EXECUTOR)
     public void generateResumeTest(User user, Long jobId, GeneratedResume savedResume, ProcessingStatus status) throws Exception {
         processingStatusService.startProcessing(status.getId());
         Thread.sleep(7000);
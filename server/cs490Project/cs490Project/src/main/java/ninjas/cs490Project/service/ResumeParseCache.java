@@ -0,0 +1,172 @@
+package ninjas.cs490Project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ninjas.cs490Project.dto.ResumeParsingResult;
+import ninjas.cs490Project.entity.ParsedResumeCacheEntry;
+import ninjas.cs490Project.repository.ParsedResumeCacheRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of resume parsing results. Entries are keyed by the SHA-256
+ * of the uploaded file, held in a size-bounded in-memory cache and persisted in
+ * parsed_resume_cache so they survive restarts and are shared across nodes. Stored
+ * entries carry the fingerprint of the parser that produced them; an entry from another
+ * model, prompt or skill taxonomy is a miss, and is replaced once the file is parsed again.
+ */
+@Service
+public class ResumeParseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeParseCache.class);
+
+    public record CachedParse(String extractedText, ResumeParsingResult parsingResult, long parseDurationMs) {
+    }
+
+    private final ParsedResumeCacheRepository parsedResumeCacheRepository;
+    private final ObjectMapper objectMapper;
+    private final String parserFingerprint;
+    private final Cache<String, CachedParse> memoryCache;
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final Timer savedTime;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+
+    public ResumeParseCache(ParsedResumeCacheRepository parsedResumeCacheRepository,
+                            ObjectMapper objectMapper,
+                            ResumeParsingService resumeParsingService,
+                            MeterRegistry meterRegistry,
+                            @Value("${resume.parse-cache.max-entries:500}") long maxEntries) {
+        this.parsedResumeCacheRepository = parsedResumeCacheRepository;
+        this.objectMapper = objectMapper;
+        this.parserFingerprint = resumeParsingService.parserFingerprint();
+        this.memoryCache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+
+        this.memoryHits = lookupCounter(meterRegistry, "hit_memory");
+        this.databaseHits = lookupCounter(meterRegistry, "hit_database");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.savedTime = Timer.builder("resume.parse.cache.saved")
+                .description("Extraction and GPT time avoided by cache hits")
+                .register(meterRegistry);
+        Gauge.builder("resume.parse.cache.hit.ratio", this, ResumeParseCache::hitRatio)
+                .description("Share of resume uploads served from the parse cache")
+                .register(meterRegistry);
+    }
+
+    public static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public Optional<CachedParse> get(String contentHash) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+        lookups.incrementAndGet();
+
+        CachedParse cached = memoryCache.getIfPresent(contentHash);
+        if (cached != null) {
+            recordHit(memoryHits, cached);
+            return Optional.of(cached);
+        }
+
+        Optional<CachedParse> stored = parsedResumeCacheRepository.findByContentHash(contentHash)
+                .filter(this::isCurrent)
+                .flatMap(this::decode);
+        if (stored.isPresent()) {
+            memoryCache.put(contentHash, stored.get());
+            recordHit(databaseHits, stored.get());
+            return stored;
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String contentHash, String extractedText, ResumeParsingResult parsingResult, long parseDurationMs) {
+        if (contentHash == null) {
+            return;
+        }
+        CachedParse cached = new CachedParse(extractedText, parsingResult, parseDurationMs);
+        memoryCache.put(contentHash, cached);
+
+        Optional<ParsedResumeCacheEntry> existing = parsedResumeCacheRepository.findByContentHash(contentHash);
+        if (existing.isPresent() && isCurrent(existing.get())) {
+            return;
+        }
+        try {
+            // An entry from an older parser is overwritten in place; content_hash is unique
+            ParsedResumeCacheEntry entry = existing.orElseGet(ParsedResumeCacheEntry::new);
+            entry.setContentHash(contentHash);
+            entry.setParserFingerprint(parserFingerprint);
+            entry.setExtractedText(extractedText);
+            entry.setParsingResult(objectMapper.writeValueAsString(parsingResult));
+            entry.setParseDurationMs(parseDurationMs);
+            entry.setCreatedAt(Instant.now());
+            parsedResumeCacheRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            // Another upload of the same file stored it first
+            logger.debug("Parse cache entry {} already stored", contentHash);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not persist parse cache entry {}: {}", contentHash, e.getMessage());
+        }
+    }
+
+    private boolean isCurrent(ParsedResumeCacheEntry entry) {
+        return parserFingerprint.equals(entry.getParserFingerprint());
+    }
+
+    private Optional<CachedParse> decode(ParsedResumeCacheEntry entry) {
+        try {
+            ResumeParsingResult parsingResult = objectMapper.readValue(entry.getParsingResult(), ResumeParsingResult.class);
+            long duration = entry.getParseDurationMs() != null ? entry.getParseDurationMs() : 0L;
+            return Optional.of(new CachedParse(entry.getExtractedText(), parsingResult, duration));
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable parse cache entry {}: {}", entry.getContentHash(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void recordHit(Counter counter, CachedParse cached) {
+        counter.increment();
+        hits.incrementAndGet();
+        savedTime.record(Duration.ofMillis(cached.parseDurationMs()));
+    }
+
+    private double hitRatio() {
+        long total = lookups.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("resume.parse.cache.lookups")
+                .description("Resume parse cache lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,27 +1,24 @@
 package ninjas.cs490Project.service;
 
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.Data;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import ninjas.cs490Project.dto.GPTRequest;
 import ninjas.cs490Project.dto.Message;
 import ninjas.cs490Project.dto.ResumeParsingResult;
 import org.apache.tika.Tika;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 
 @Service
@@ -30,164 +27,146 @@ public class ResumeParsingService {
 
     private static final Logger logger = LoggerFactory.getLogger(ResumeParsingService.class);
 
-
-    private final WebClient webClient;
-    private final ObjectMapper objectMapper;
-
-
-    @Value("${gpt.api.key}")
-    private String gptApiKey;
-
-
-    public ResumeParsingService(WebClient.Builder webClientBuilder) {
-        // Configure the WebClient with logging filters
-        this.webClient = webClientBuilder
-                .baseUrl("https://api.openai.com/v1")
-                .filter(logRequest())
-                .filter(logResponse())
-                .build();
-
-
-        this.objectMapper = new ObjectMapper();
-        // Register the JavaTimeModule to support Java 8 date/time types (e.g., LocalDate)
-        this.objectMapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
-        // Ignore unknown properties globally
-        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    }
-
-
-    private ExchangeFilterFunction logRequest() {
-        return ExchangeFilterFunction.ofRequestProcessor(clientRequest -> {
-            System.out.println("Request: " + clientRequest.method() + " " + clientRequest.url());
-            clientRequest.headers().forEach((name, values) ->
-                    values.forEach(value -> System.out.println(name + ": " + value)));
-            return Mono.just(clientRequest);
-        });
+    private static final String PARSE_RESUME_MODEL = "gpt-3.5-turbo";
+    private static final String PARSE_RESUME_SYSTEM_MESSAGE = "You are a helpful assistant.";
+    private static final String PARSE_RESUME_PROMPT =
+    """
+    You are an assistant that parses resume text into a strict JSON structure. Your task is to extract education, skills, and work experience data exactly as specified below. Return only valid JSON, with no additional commentary, markdown, or backticks.
+    
+    1. Output a JSON object with exactly three keys: "educationList", "skills", and "workExperienceList".
+    
+    2. "educationList" is an array (never null) of objects. Each object must include:
+       {
+         "institution": string (default "N/A"),
+         "degree": string (default "N/A"),
+         "fieldOfStudy": string (default "N/A"),
+         "startDate": string in YYYY-MM-DD format (default "2000-01-01"),
+         "endDate": string in YYYY-MM-DD format (default "N/A"),
+         "description": string (default "N/A"),
+         "gpa": number (default 0)
+       }
+       If no education data is found, return an empty array [].
+    
+    3. "skills" is an array (never null) of strings. If no skills are found, return an empty array [].
+    
+    4. "workExperienceList" is an array (never null) of objects. Each object must include:
+       {
+         "company": string (default "N/A"),
+         "jobTitle": string (default "N/A"),
+         "startDate": string in YYYY-MM-DD format (default "2000-01-01"),
+         "endDate": string in YYYY-MM-DD format (default "N/A"),
+         "responsibilities": string (default "N/A"),
+         "accomplishments": string (default "N/A")
+       }
+       If no work experience is found, return an empty array [].
+    
+    5. Always include all specified keys. Do not add extra properties. No null values.
+    
+    6. If certain fields cannot be determined, use the default values provided.
+    
+    7. For work experience:
+       - Responsibilities should list daily tasks and duties
+       - Accomplishments should highlight specific achievements, metrics, and impact
+       - Format both as bullet points or short paragraphs
+       - Keep responsibilities and accomplishments separate and distinct
+    
+    Now parse the following resume text and produce only a valid JSON response (no extra text or formatting):
+    """;
+
+
+    private final LlmClient llmClient;
+    private final SkillTaxonomy skillTaxonomy;
+    // Tika facade is thread-safe, so one instance (and its detector/parser setup) is shared
+    private final Tika tika = new Tika();
+    private final Timer extractionSuccess;
+    private final Timer extractionFailure;
+    private final String parserFingerprint;
+
+
+    public ResumeParsingService(LlmClient llmClient, SkillTaxonomy skillTaxonomy, MeterRegistry meterRegistry) {
+        this.llmClient = llmClient;
+        this.skillTaxonomy = skillTaxonomy;
+        this.extractionSuccess = extractionTimer(meterRegistry, "success");
+        this.extractionFailure = extractionTimer(meterRegistry, "error");
+        this.parserFingerprint = ResumeParseCache.sha256(String.join("\n",
+                PARSE_RESUME_MODEL, PARSE_RESUME_SYSTEM_MESSAGE, PARSE_RESUME_PROMPT, skillTaxonomy.version())
+                .getBytes(StandardCharsets.UTF_8));
     }
 
-
-    private ExchangeFilterFunction logResponse() {
-        return ExchangeFilterFunction.ofResponseProcessor(clientResponse -> {
-            System.out.println("Response status: " + clientResponse.statusCode());
-            clientResponse.headers().asHttpHeaders().forEach((name, values) ->
-                    values.forEach(value -> System.out.println(name + ": " + value)));
-            return Mono.just(clientResponse);
-        });
+    /**
+     * Identifies what parseKeyInformation does to a resume: the model, the prompt and the
+     * skill taxonomy its result is canonicalized against. Cached parses made by a
+     * different parser are not reused.
+     */
+    public String parserFingerprint() {
+        return parserFingerprint;
     }
 
 
     /**
-     * Extracts plain text from the uploaded resume file using Apache Tika.
+     * Extracts plain text from the uploaded resume bytes using Apache Tika.
+     * Runs once per upload, in the background parsing stage.
      */
-    public String extractTextFromFile(MultipartFile file) throws Exception {
-        Tika tika = new Tika();
-        // Convert file's InputStream to String
-        return tika.parseToString(file.getInputStream());
+    public String extractText(InputStream content) throws Exception {
+        long startedAt = System.nanoTime();
+        try {
+            String text = tika.parseToString(content);
+            extractionSuccess.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return text;
+        } catch (Exception e) {
+            extractionFailure.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static Timer extractionTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("resume.extraction.duration")
+                .description("Tika text extraction of an uploaded resume, including reading it from the BlobStore")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
 
     /**
      * Calls the GPT API to parse key information from the extracted resume text.
      */
-    public ResumeParsingResult parseKeyInformation(String resumeText) throws Exception {
+    public Mono<ResumeParsingResult> parseKeyInformation(String resumeText, StageTimings timings) {
 
 
         // Build your prompt
-        String prompt =
-        """
-        You are an assistant that parses resume text into a strict JSON structure. Your task is to extract education, skills, and work experience data exactly as specified below. Return only valid JSON, with no additional commentary, markdown, or backticks.
-        
-        1. Output a JSON object with exactly three keys: "educationList", "skills", and "workExperienceList".
-        
-        2. "educationList" is an array (never null) of objects. Each object must include:
-           {
-             "institution": string (default "N/A"),
-             "degree": string (default "N/A"),
-             "fieldOfStudy": string (default "N/A"),
-             "startDate": string in YYYY-MM-DD format (default "2000-01-01"),
-             "endDate": string in YYYY-MM-DD format (default "N/A"),
-             "description": string (default "N/A"),
-             "gpa": number (default 0)
-           }
-           If no education data is found, return an empty array [].
-        
-        3. "skills" is an array (never null) of strings. If no skills are found, return an empty array [].
-        
-        4. "workExperienceList" is an array (never null) of objects. Each object must include:
-           {
-             "company": string (default "N/A"),
-             "jobTitle": string (default "N/A"),
-             "startDate": string in YYYY-MM-DD format (default "2000-01-01"),
-             "endDate": string in YYYY-MM-DD format (default "N/A"),
-             "responsibilities": string (default "N/A"),
-             "accomplishments": string (default "N/A")
-           }
-           If no work experience is found, return an empty array [].
-        
-        5. Always include all specified keys. Do not add extra properties. No null values.
-        
-        6. If certain fields cannot be determined, use the default values provided.
-        
-        7. For work experience:
-           - Responsibilities should list daily tasks and duties
-           - Accomplishments should highlight specific achievements, metrics, and impact
-           - Format both as bullet points or short paragraphs
-           - Keep responsibilities and accomplishments separate and distinct
-        
-        Now parse the following resume text and produce only a valid JSON response (no extra text or formatting):
-        """ + resumeText;
+        String prompt = PARSE_RESUME_PROMPT + resumeText;
 
 
         // Create the GPT request payload
         GPTRequest gptRequest = new GPTRequest(
-                "gpt-3.5-turbo",
+                PARSE_RESUME_MODEL,
                 List.of(
-                        new Message("developer", "You are a helpful assistant."),
+                        new Message("developer", PARSE_RESUME_SYSTEM_MESSAGE),
                         new Message("user", prompt)
                 )
         );
 
 
 
-        // 1) Make the API call to get the raw JSON response
-        String rawGptResponse = webClient.post()
-                .uri("/chat/completions")
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + gptApiKey)
-                .bodyValue(gptRequest)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
-
-
-        // 2) Print out the raw GPT response to the console
-        System.out.println("GPT RAW RESPONSE:\n" + rawGptResponse);
-
-
-        // 3) Log the same raw GPT response using SLF4J logger
-        logger.info("GPT RAW RESPONSE:\n{}", rawGptResponse);
-
-
-        // 4) Parse the top-level GPTResponse (which has choices -> message -> content)
-        GPTResponse gptResponseObj = objectMapper.readValue(rawGptResponse, GPTResponse.class);
-
-
-        // 5) Extract the JSON string from "content"
-        String contentJson = gptResponseObj
-                .getChoices().get(0)       // we only use the first choice
-                .getMessage()
-                .getContent();            // raw JSON string for your resume data
-
-
-        // 6) Now parse that string into ResumeParsingResult
-        ResumeParsingResult parsedResult = objectMapper.readValue(contentJson, ResumeParsingResult.class);
-
+        return llmClient.complete(LlmClient.PARSE_RESUME, gptRequest, ResumeParsingResult.class, timings)
+                .map(parsingResult -> withKnownSkills(parsingResult, resumeText));
+    }
 
-        // 7) Return the fully-parsed ResumeParsingResult
-        return parsedResult;
+    /**
+     * Adds the dictionary skills found in the resume text that the model left out;
+     * SkillService folds the spellings together when they are stored.
+     */
+    private ResumeParsingResult withKnownSkills(ResumeParsingResult parsingResult, String resumeText) {
+        List<String> skills = new ArrayList<>();
+        if (parsingResult.getSkills() != null) {
+            skills.addAll(parsingResult.getSkills());
+        }
+        skills.addAll(skillTaxonomy.extract(resumeText));
+        parsingResult.setSkills(skillTaxonomy.canonicalizeAll(skills));
+        return parsingResult;
     }
 
-    public ResumeParsingResult parseFreeformCareer(String text) throws Exception {
+    public Mono<ResumeParsingResult> parseFreeformCareer(String text, StageTimings timings) {
         // Build your prompt for freeform career parsing
         String prompt =
         """
@@ -226,73 +205,8 @@ public class ResumeParsingService {
                 )
         );
 
-        // Make the API call to get the raw JSON response
-        String rawGptResponse = webClient.post()
-                .uri("/chat/completions")
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + gptApiKey)
-                .bodyValue(gptRequest)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
-
-        // Parse the GPT response
-        GPTResponse gptResponseObj;
-        try {
-            gptResponseObj = objectMapper.readValue(rawGptResponse, GPTResponse.class);
-        } catch (Exception e) {
-            logger.error("Error parsing GPT response: {}", e.getMessage());
-            logger.error("Raw GPT response: {}", rawGptResponse);
-            throw new Exception("Failed to parse GPT response. Please try again.");
-        }
-
-        String contentJson;
-        try {
-            contentJson = gptResponseObj
-                    .getChoices().get(0)
-                    .getMessage()
-                    .getContent();
-        } catch (Exception e) {
-            logger.error("Error extracting content from GPT response: {}", e.getMessage());
-            logger.error("GPT response object: {}", gptResponseObj);
-            throw new Exception("Failed to extract content from GPT response. Please try again.");
-        }
-
-        // Parse into ResumeParsingResult
-        try {
-            ResumeParsingResult parsedResult = objectMapper.readValue(contentJson, ResumeParsingResult.class);
-            return parsedResult;
-        } catch (Exception e) {
-            logger.error("Error parsing freeform career JSON: {}", e.getMessage());
-            logger.error("Content JSON: {}", contentJson);
-            throw new Exception("Failed to parse career information. Please ensure your input contains clear work experience details.");
-        }
+        return llmClient.complete(LlmClient.PARSE_FREEFORM, gptRequest, ResumeParsingResult.class, timings)
+                .onErrorMap(JsonProcessingException.class, e -> new Exception(
+                        "Failed to parse career information. Please ensure your input contains clear work experience details.", e));
     }
 }
-
-
-// ---------------------------------------------------------------------------
-// Classes representing the top-level GPT response structure
-
-
-@Data
-@JsonIgnoreProperties(ignoreUnknown = true)
-class GPTResponse {
-    private List<Choice> choices;
-}
-
-
-@Data
-@JsonIgnoreProperties(ignoreUnknown = true)
-class Choice {
-    private GPTMessage message;
-}
-
-
-@Data
-@JsonIgnoreProperties(ignoreUnknown = true)
-class GPTMessage {
-    private String role;
-    private String content; // The JSON we really want is here
-}
-
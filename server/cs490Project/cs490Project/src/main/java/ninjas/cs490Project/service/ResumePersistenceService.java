@@ -0,0 +1,218 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.dto.EducationData;
+import ninjas.cs490Project.dto.ResumeParsingResult;
+import ninjas.cs490Project.dto.WorkExperienceData;
+import ninjas.cs490Project.entity.Education;
+import ninjas.cs490Project.entity.FreeformEntry;
+import ninjas.cs490Project.entity.Skill;
+import ninjas.cs490Project.entity.User;
+import ninjas.cs490Project.entity.WorkExperience;
+import ninjas.cs490Project.repository.FreeformEntryRepository;
+import ninjas.cs490Project.repository.WorkExperienceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persistence stage of the parsing pipeline. Kept separate from AsyncResumeParser
+ * so the transaction only spans the database writes, not the Tika or GPT stages.
+ */
+@Service
+public class ResumePersistenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumePersistenceService.class);
+
+    private static final String INSERT_EDUCATION = "INSERT INTO education "
+            + "(institution, degree, field_of_study, description, gpa, start_date, end_date, user_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_WORK_EXPERIENCE = "INSERT INTO work_experience "
+            + "(company, job_title, start_date, end_date, responsibilities, accomplishments, user_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final WorkExperienceRepository workExperienceRepository;
+    private final FreeformEntryRepository freeformEntryRepository;
+    private final SkillService skillService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResumePersistenceService(WorkExperienceRepository workExperienceRepository,
+                                    FreeformEntryRepository freeformEntryRepository,
+                                    SkillService skillService,
+                                    JdbcTemplate jdbcTemplate) {
+        this.workExperienceRepository = workExperienceRepository;
+        this.freeformEntryRepository = freeformEntryRepository;
+        this.skillService = skillService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes each section of a parsed resume as one JDBC batch rather than a row at a
+     * time; with IDENTITY ids Hibernate would send every insert on its own round trip.
+     */
+    @Transactional
+    public void saveParsedResume(User user, ResumeParsingResult parsingResult) {
+        // Process education entries
+        List<EducationData> educationList = parsingResult.getEducationList();
+        if (educationList != null && !educationList.isEmpty()) {
+            logger.info("Found {} education entries.", educationList.size());
+            List<Education> educations = new ArrayList<>();
+
+            for (EducationData data : educationList) {
+                Education edu = new Education();
+                edu.setInstitution(data.getInstitution());
+                edu.setDegree(data.getDegree());
+                edu.setFieldOfStudy(data.getFieldOfStudy());
+                edu.setDescription(data.getDescription());
+
+                // Safe date parsing
+                edu.setStartDate(
+                        data.getStartDate() != null
+                                ? LocalDate.parse(data.getStartDate())
+                                : LocalDate.of(2021, 9, 1)
+                );
+                edu.setEndDate(
+                        data.getEndDate() != null
+                                ? LocalDate.parse(data.getEndDate())
+                                : LocalDate.of(2025, 12, 1)
+                );
+
+                // Handle GPA
+                Double gpaValue = data.getGpa();
+                edu.setGpa(gpaValue);
+
+                edu.setUser(user);
+                educations.add(edu);
+            }
+            insertEducations(educations);
+            logger.info("Saved {} education entries.", educations.size());
+        }
+
+        // Process work experience entries
+        List<WorkExperienceData> workExpList = parsingResult.getWorkExperienceList();
+        if (workExpList != null && !workExpList.isEmpty()) {
+            List<WorkExperience> workExperiences = new ArrayList<>();
+
+            for (WorkExperienceData data : workExpList) {
+                WorkExperience we = new WorkExperience();
+                we.setCompany(data.getCompany());
+                we.setJobTitle(data.getJobTitle());
+                we.setStartDate(LocalDate.parse(data.getStartDate()));
+
+                String endDateStr = data.getEndDate();
+                if (endDateStr == null || endDateStr.trim().isEmpty() || endDateStr.equalsIgnoreCase("N/A")) {
+                    we.setEndDate(null);
+                } else {
+                    we.setEndDate(LocalDate.parse(endDateStr));
+                }
+
+                we.setResponsibilities(data.getResponsibilities());
+                we.setAccomplishments(data.getAccomplishments());
+                we.setUser(user);
+                workExperiences.add(we);
+            }
+            insertWorkExperiences(workExperiences);
+            logger.info("Saved {} work experience entries.", workExperiences.size());
+        } else {
+            logger.warn("No work experience entries found in parsed result.");
+        }
+
+        // Process skills
+        List<String> skills = parsingResult.getSkills();
+        if (skills != null && !skills.isEmpty()) {
+            logger.info("Found {} skills to process.", skills.size());
+
+            // Use SkillService to add skills with de-duplication
+            List<Skill> addedSkills = skillService.addSkills(skills, user);
+            logger.info("Processed {} skills for user.", addedSkills.size());
+        } else {
+            logger.warn("No skills found in parsed result.");
+        }
+    }
+
+    private void insertEducations(List<Education> educations) {
+        jdbcTemplate.batchUpdate(INSERT_EDUCATION, educations, educations.size(), (ps, edu) -> {
+            ps.setString(1, edu.getInstitution());
+            ps.setString(2, edu.getDegree());
+            ps.setString(3, edu.getFieldOfStudy());
+            ps.setString(4, edu.getDescription());
+            ps.setObject(5, edu.getGpa(), Types.DOUBLE);
+            ps.setObject(6, toSqlDate(edu.getStartDate()), Types.DATE);
+            ps.setObject(7, toSqlDate(edu.getEndDate()), Types.DATE);
+            ps.setInt(8, edu.getUser().getId());
+        });
+    }
+
+    private void insertWorkExperiences(List<WorkExperience> workExperiences) {
+        jdbcTemplate.batchUpdate(INSERT_WORK_EXPERIENCE, workExperiences, workExperiences.size(), (ps, we) -> {
+            ps.setString(1, we.getCompany());
+            ps.setString(2, we.getJobTitle());
+            ps.setObject(3, toSqlDate(we.getStartDate()), Types.DATE);
+            ps.setObject(4, toSqlDate(we.getEndDate()), Types.DATE);
+            ps.setString(5, we.getResponsibilities());
+            ps.setString(6, we.getAccomplishments());
+            ps.setInt(7, we.getUser().getId());
+        });
+    }
+
+    private static Date toSqlDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+
+    @Transactional
+    public void saveFreeformCareer(User user, FreeformEntry freeformEntry, ResumeParsingResult parsingResult) {
+        // Get existing work experience if any
+        WorkExperience existingExperience = workExperienceRepository.findByFreeformEntryId(freeformEntry.getId());
+
+        // Process work experience entry
+        List<WorkExperienceData> workExpList = parsingResult.getWorkExperienceList();
+        if (workExpList != null && !workExpList.isEmpty()) {
+            // Take only the first work experience entry
+            WorkExperienceData data = workExpList.get(0);
+
+            // Update existing experience or create new one
+            WorkExperience we = (existingExperience != null) ? existingExperience : new WorkExperience();
+
+            // Update the fields
+            we.setCompany(data.getCompany());
+            we.setJobTitle(data.getJobTitle());
+            we.setStartDate(LocalDate.parse(data.getStartDate()));
+
+            String endDateStr = data.getEndDate();
+            if (endDateStr == null || endDateStr.trim().isEmpty() || endDateStr.equalsIgnoreCase("N/A")) {
+                we.setEndDate(null);
+            } else if (endDateStr.equalsIgnoreCase("Present")) {
+                we.setEndDate(LocalDate.now());
+            } else {
+                we.setEndDate(LocalDate.parse(endDateStr));
+            }
+
+            we.setResponsibilities(data.getResponsibilities());
+            we.setAccomplishments(data.getAccomplishments());
+            we.setUser(user);
+            we.setFreeformEntry(freeformEntry);
+
+            // Save the work experience
+            workExperienceRepository.save(we);
+            logger.info("Saved work experience entry from freeform text.");
+
+            // Update FreeformEntry
+            freeformEntry.setUpdatedAt(Instant.now());
+            freeformEntry.setWorkExperience(we);
+            freeformEntryRepository.save(freeformEntry);
+
+        } else {
+            logger.warn("No work experience entry found in parsed freeform text.");
+            freeformEntry.setUpdatedAt(Instant.now());
+            freeformEntryRepository.save(freeformEntry);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package ninjas.cs490Project.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import ninjas.cs490Project.entity.Education;
+import ninjas.cs490Project.entity.JobDescription;
+import ninjas.cs490Project.entity.Skill;
+import ninjas.cs490Project.entity.WorkExperience;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Assembles the resume generation prompt within a token budget
+ * (resume.generation.prompt.max-tokens), counted with TokenEstimator. Every job and
+ * school is always listed with the company, title and dates the model has to keep.
+ * The rest of the budget buys detail in this order: the skills the job description
+ * mentions, full education entries, the experiences JobMatchScorer rates most
+ * relevant to the job, then the remaining skills. An experience that does not fit in full is cut to its
+ * strongest line. Careers that fit are rendered exactly as before. The job description may
+ * take at most half the budget and is cut beyond that. If the job and school headers alone
+ * still overrun the budget, the prompt is sent anyway, logged and counted as over budget.
+ */
+@Service
+public class ResumePromptBuilder {
+
+    /**
+     * The prompt text with its token count and how much of the career made it in full.
+     */
+    public record Prompt(String text, int tokens, int experiences, int experiencesInFull,
+                         int skills, int skillsIncluded, boolean jobDescriptionInFull, boolean overBudget) {
+
+        public boolean trimmed() {
+            return experiencesInFull < experiences || skillsIncluded < skills || !jobDescriptionInFull;
+        }
+    }
+
+    private enum Detail { HEADER, COMPACT, FULL }
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumePromptBuilder.class);
+
+    private static final int HIGHLIGHT_MAX_CHARS = 200;
+
+    private static final String TEMPLATE = """
+            You are an expert resume writer with specialized knowledge in Applicant Tracking Systems (ATS). Your task is to generate a highly targeted resume based on the candidate's information, optimized for the following job description:
+
+            JOB TITLE: %s
+            JOB DESCRIPTION:
+            %s
+
+            CANDIDATE SKILLS:
+            %s
+
+            CANDIDATE'S WORK EXPERIENCE:
+            %s
+
+            CANDIDATE'S EDUCATION:
+            %s
+
+            Generate a resume in JSON format following this exact schema:
+            {
+              "skills": ["string","string",…],
+              "educationList": [
+                {
+                  "institution": "string",
+                  "degree": "string",
+                  "fieldOfStudy": "string",
+                  "startDate": "YYYY-MM-DD",
+                  "endDate": "YYYY-MM-DD",
+                  "description": "string",
+                  "gpa": number
+                }
+              ],
+              "workExperienceList": [
+                {
+                  "company": "string",
+                  "jobTitle": "string",
+                  "startDate": "YYYY-MM-DD",
+                  "endDate": "YYYY-MM-DD",
+                  "responsibilities": "string",
+                  "accomplishments": "string"
+                }
+              ]
+            }
+
+            Instructions:
+            1. Extract 8–12 relevant keywords from the job description and integrate them meaningfully.
+            2. For work experience:
+               - Responsibilities should list daily tasks and duties
+               - Accomplishments should highlight specific achievements, metrics, and impact
+               - Format both as bullet points or short paragraphs
+               - Keep responsibilities and accomplishments separate and distinct
+            3. Prioritize skills most relevant to the job.
+            4. Maintain original job titles, company names, and date ranges.
+            5. Ensure all dates maintain YYYY-MM-DD format.
+            6. Make sure "skills" is an actual JSON array, e.g.: ["Java","Python","SQL",…]
+            7. Return ONLY the JSON with no additional commentary.
+            8. Use empty strings or 0 for any missing data, never null values.
+            """;
+
+    private final SkillTaxonomy skillTaxonomy;
+    private final JobMatchScorer jobMatchScorer;
+    private final TokenEstimator tokenEstimator;
+    private final int maxTokens;
+    private final int templateTokens;
+    private final MeterRegistry meterRegistry;
+
+    public ResumePromptBuilder(SkillTaxonomy skillTaxonomy,
+                               JobMatchScorer jobMatchScorer,
+                               TokenEstimator tokenEstimator,
+                               MeterRegistry meterRegistry,
+                               @Value("${resume.generation.prompt.max-tokens:4000}") int maxTokens) {
+        this.skillTaxonomy = skillTaxonomy;
+        this.jobMatchScorer = jobMatchScorer;
+        this.tokenEstimator = tokenEstimator;
+        this.maxTokens = maxTokens;
+        this.templateTokens = tokenEstimator.count(TEMPLATE.formatted("", "", "", "", ""));
+        this.meterRegistry = meterRegistry;
+    }
+
+    private DistributionSummary promptTokens(Prompt prompt) {
+        return DistributionSummary.builder("resume.prompt.tokens")
+                .description("Estimated tokens in the resume generation prompt")
+                .baseUnit("tokens")
+                .tag("trimmed", Boolean.toString(prompt.trimmed()))
+                .tag("over_budget", Boolean.toString(prompt.overBudget()))
+                .register(meterRegistry);
+    }
+
+    public Prompt build(JobDescription jobDescription,
+                        List<WorkExperience> workExperiences,
+                        List<Education> educationList,
+                        List<Skill> userSkills) {
+        String jobTitle = Objects.toString(jobDescription.getJobTitle(), "");
+        String fullJobDesc = Objects.toString(jobDescription.getJobDescription(), "");
+        String jobDesc = tokenEstimator.truncate(fullJobDesc, maxTokens / 2);
+        boolean jobDescriptionInFull = jobDesc.length() == fullJobDesc.length();
+        if (!jobDescriptionInFull) {
+            jobDesc += "…";
+        }
+        Set<String> jobSkills = new HashSet<>(skillTaxonomy.extract(jobTitle + "\n" + jobDesc));
+
+        // One canonical name per skill however it was stored, the ones the job mentions first
+        List<String> skills = skillTaxonomy.canonicalizeAll(userSkills.stream().map(Skill::getName).toList());
+        List<String> ordered = new ArrayList<>(skills.size());
+        skills.stream().filter(jobSkills::contains).forEach(ordered::add);
+        int wantedSkills = ordered.size();
+        skills.stream().filter(skill -> !jobSkills.contains(skill)).forEach(ordered::add);
+
+        Detail[] experienceDetail = new Detail[workExperiences.size()];
+        Arrays.fill(experienceDetail, Detail.HEADER);
+        int used = templateTokens + tokenEstimator.count(jobTitle) + tokenEstimator.count(jobDesc);
+        for (WorkExperience experience : workExperiences) {
+            used += tokenEstimator.count(experience(experience, Detail.HEADER));
+        }
+        int educationHeaders = 0;
+        int educationFull = 0;
+        for (Education education : educationList) {
+            educationHeaders += tokenEstimator.count(education(education, false));
+            educationFull += tokenEstimator.count(education(education, true));
+        }
+        used += educationHeaders;
+
+        // Skills the job asks for
+        int skillsIncluded = 0;
+        while (skillsIncluded < wantedSkills && fits(used, skillCost(ordered, skillsIncluded))) {
+            used += skillCost(ordered, skillsIncluded++);
+        }
+
+        boolean fullEducation = fits(used, educationFull - educationHeaders);
+        if (fullEducation) {
+            used += educationFull - educationHeaders;
+        }
+
+        // Experiences by relevance: in full if they fit, else their strongest line
+        for (int index : rankByRelevance(jobDescription, workExperiences)) {
+            WorkExperience experience = workExperiences.get(index);
+            int header = tokenEstimator.count(experience(experience, Detail.HEADER));
+            int full = tokenEstimator.count(experience(experience, Detail.FULL)) - header;
+            if (fits(used, full)) {
+                experienceDetail[index] = Detail.FULL;
+                used += full;
+                continue;
+            }
+            int compact = tokenEstimator.count(experience(experience, Detail.COMPACT)) - header;
+            if (fits(used, compact)) {
+                experienceDetail[index] = Detail.COMPACT;
+                used += compact;
+            }
+        }
+
+        while (skillsIncluded < ordered.size() && fits(used, skillCost(ordered, skillsIncluded))) {
+            used += skillCost(ordered, skillsIncluded++);
+        }
+
+        StringBuilder careerHistory = new StringBuilder();
+        int experiencesInFull = 0;
+        for (int i = 0; i < workExperiences.size(); i++) {
+            careerHistory.append(experience(workExperiences.get(i), experienceDetail[i]));
+            if (experienceDetail[i] == Detail.FULL) {
+                experiencesInFull++;
+            }
+        }
+        StringBuilder educationHistory = new StringBuilder();
+        for (Education education : educationList) {
+            educationHistory.append(education(education, fullEducation));
+        }
+
+        String text = TEMPLATE.formatted(jobTitle, jobDesc, skillsSection(ordered.subList(0, skillsIncluded)),
+                careerHistory, educationHistory);
+        int tokens = tokenEstimator.count(text);
+        Prompt prompt = new Prompt(text, tokens, workExperiences.size(), experiencesInFull,
+                ordered.size(), skillsIncluded, jobDescriptionInFull, used > maxTokens);
+        if (prompt.overBudget()) {
+            logger.warn("Resume prompt for job {} is {} tokens, over the {} token budget: the headers of {} jobs "
+                            + "and {} schools do not fit",
+                    jobDescription.getId(), tokens, maxTokens, workExperiences.size(), educationList.size());
+        }
+        promptTokens(prompt).record(tokens);
+        return prompt;
+    }
+
+    private boolean fits(int used, int extra) {
+        return used + extra <= maxTokens;
+    }
+
+    private int skillCost(List<String> skills, int index) {
+        // The first skill also pays for the "Skills: " line, later ones for the separator
+        return tokenEstimator.count(index == 0 ? "Skills: " + skills.get(0) + "\n" : ", " + skills.get(index));
+    }
+
+    // Best JobMatchScorer score first; ties go to the more recent job
+    private List<Integer> rankByRelevance(JobDescription jobDescription, List<WorkExperience> workExperiences) {
+        double[] scores = jobMatchScorer.scoreExperiences(jobDescription, workExperiences);
+        List<Integer> ranked = new ArrayList<>(workExperiences.size());
+        for (int i = 0; i < workExperiences.size(); i++) {
+            ranked.add(i);
+        }
+        ranked.sort(Comparator.<Integer>comparingDouble(i -> scores[i]).reversed()
+                .thenComparing(i -> workExperiences.get(i).getStartDate(),
+                        Comparator.nullsLast(Comparator.<LocalDate>reverseOrder())));
+        return ranked;
+    }
+
+    private static String skillsSection(List<String> skills) {
+        return skills.isEmpty() ? "" : "Skills: " + String.join(", ", skills) + "\n";
+    }
+
+    private static String experience(WorkExperience exp, Detail detail) {
+        String header = String.format("Company: %s\nTitle: %s\nPeriod: %s to %s\n",
+                exp.getCompany(),
+                exp.getJobTitle(),
+                exp.getStartDate(),
+                exp.getEndDate() != null ? exp.getEndDate() : "Present");
+        return switch (detail) {
+            case FULL -> header + String.format("Responsibilities: %s\nAccomplishments: %s\n\n",
+                    exp.getResponsibilities() != null ? exp.getResponsibilities() : "",
+                    exp.getAccomplishments() != null ? exp.getAccomplishments() : "");
+            case COMPACT -> header + "Highlights: " + highlight(exp) + "\n\n";
+            case HEADER -> header + "\n";
+        };
+    }
+
+    // First line of the accomplishments, or of the responsibilities, without its bullet
+    private static String highlight(WorkExperience exp) {
+        for (String section : new String[]{exp.getAccomplishments(), exp.getResponsibilities()}) {
+            if (section == null) {
+                continue;
+            }
+            for (String line : section.split("\\R")) {
+                String text = line.replaceFirst("^[\\s\\-*•]+", "").trim();
+                if (!text.isEmpty()) {
+                    if (text.length() <= HIGHLIGHT_MAX_CHARS) {
+                        return text;
+                    }
+                    int cut = text.lastIndexOf(' ', HIGHLIGHT_MAX_CHARS);
+                    return text.substring(0, cut > 0 ? cut : HIGHLIGHT_MAX_CHARS) + "…";
+                }
+            }
+        }
+        return "";
+    }
+
+    private static String education(Education edu, boolean full) {
+        if (full) {
+            return String.format(
+                    "Institution: %s\nDegree: %s\nField: %s\nPeriod: %s to %s\nGPA: %s\nDescription: %s\n\n",
+                    edu.getInstitution(),
+                    edu.getDegree(),
+                    edu.getFieldOfStudy(),
+                    edu.getStartDate(),
+                    edu.getEndDate(),
+                    edu.getGpa(),
+                    edu.getDescription());
+        }
+        return String.format("Institution: %s\nDegree: %s\nField: %s\nPeriod: %s to %s\n\n",
+                edu.getInstitution(),
+                edu.getDegree(),
+                edu.getFieldOfStudy(),
+                edu.getStartDate(),
+                edu.getEndDate());
+    }
+}
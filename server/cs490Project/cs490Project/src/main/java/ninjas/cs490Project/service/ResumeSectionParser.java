@@ -0,0 +1,144 @@
+package ninjas.cs490Project.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import ninjas.cs490Project.dto.EducationData;
+import ninjas.cs490Project.dto.ResumeGenerationResult;
+import ninjas.cs490Project.dto.WorkExperienceData;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the ResumeGenerationResult JSON a model streams back, fed in whatever pieces
+ * it arrives in (a piece may end mid-string or mid-number). Each section is handed to
+ * the consumer as soon as it is complete: the skills once their array closes, and
+ * every work experience and education entry once its object closes. Built on Jackson's
+ * non-blocking parser, so the content is tokenized once; finish() binds the whole
+ * result from the buffered tokens. Not thread-safe: feed from one thread at a time.
+ */
+public class ResumeSectionParser {
+
+    public static final String SKILLS = "skills";
+    public static final String WORK_EXPERIENCE = "workExperience";
+    public static final String EDUCATION = "education";
+
+    /**
+     * A finished part of the resume: the skills (a List of String), one
+     * WorkExperienceData or one EducationData.
+     */
+    public record Section(String name, Object value) {
+    }
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<Section> sections;
+    private final JsonParser parser;
+    private final TokenBuffer document;
+
+    // Nesting of the token just read; 1 is inside the root object
+    private int depth;
+    private String topLevelField;
+    private TokenBuffer section;
+    private String sectionName;
+    private int sectionDepth;
+
+    public ResumeSectionParser(ObjectMapper objectMapper, Consumer<Section> sections) throws IOException {
+        this.objectMapper = objectMapper;
+        this.sections = sections;
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        this.document = new TokenBuffer(parser);
+    }
+
+    /**
+     * Parses the next piece of the content, emitting any section it completes.
+     */
+    public void feed(String piece) throws IOException {
+        byte[] bytes = piece.getBytes(StandardCharsets.UTF_8);
+        ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    /**
+     * Ends the input and binds the complete result. Fails with a Jackson exception if the
+     * content stopped short of a whole JSON document.
+     */
+    public ResumeGenerationResult finish() throws IOException {
+        parser.getNonBlockingInputFeeder().endOfInput();
+        drain();
+        if (document.firstToken() == null) {
+            throw MismatchedInputException.from(parser, ResumeGenerationResult.class, "No content in the model's response");
+        }
+        try (JsonParser buffered = document.asParser(objectMapper)) {
+            return objectMapper.readValue(buffered, ResumeGenerationResult.class);
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            document.copyCurrentEvent(parser);
+            if (section != null) {
+                section.copyCurrentEvent(parser);
+            } else if (depth == 1 && token == JsonToken.FIELD_NAME) {
+                topLevelField = parser.currentName();
+            } else {
+                startSection(token);
+            }
+
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            // Back at the depth the section started at: its closing token, or a lone scalar
+            if (section != null && depth == sectionDepth && token != JsonToken.FIELD_NAME) {
+                emitSection();
+            }
+        }
+    }
+
+    private void startSection(JsonToken token) throws IOException {
+        String name = null;
+        if (depth == 1 && "skills".equals(topLevelField)) {
+            name = SKILLS;
+        } else if ((depth == 1 || depth == 2) && token == JsonToken.START_OBJECT) {
+            // An entry of the list, or the list given as a single object
+            if ("workExperienceList".equals(topLevelField)) {
+                name = WORK_EXPERIENCE;
+            } else if ("educationList".equals(topLevelField)) {
+                name = EDUCATION;
+            }
+        }
+        if (name != null) {
+            section = new TokenBuffer(parser);
+            section.copyCurrentEvent(parser);
+            sectionName = name;
+            sectionDepth = depth;
+        }
+    }
+
+    private void emitSection() throws IOException {
+        Object value;
+        try (JsonParser buffered = section.asParser(objectMapper)) {
+            value = switch (sectionName) {
+                case SKILLS -> objectMapper.readValue(buffered, STRING_LIST);
+                case WORK_EXPERIENCE -> objectMapper.readValue(buffered, WorkExperienceData.class);
+                default -> objectMapper.readValue(buffered, EducationData.class);
+            };
+        }
+        section = null;
+        if (value != null) {
+            sections.accept(new Section(sectionName, value));
+        }
+    }
+}
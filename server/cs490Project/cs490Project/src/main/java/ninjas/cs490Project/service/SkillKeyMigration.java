@@ -0,0 +1,81 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.entity.Skill;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps skills.normalized_name on the key SkillService.addSkills looks skills up by:
+ * the SkillTaxonomy canonical name, normalized. Rows stored before the column existed,
+ * or keyed under an older taxonomy, are renamed to their canonical name and re-keyed;
+ * rows of one user that collapse onto the same key ("JS" and "JavaScript") are merged
+ * into the oldest. The taxonomy version applied last is recorded as a SkillKeyVersion,
+ * so this runs again only when the taxonomy changes or unkeyed rows appear.
+ */
+@Component
+public class SkillKeyMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillKeyMigration.class);
+
+    private record StoredSkill(long id, int userId, String name, String normalizedName) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SkillTaxonomy skillTaxonomy;
+
+    public SkillKeyMigration(JdbcTemplate jdbcTemplate, SkillTaxonomy skillTaxonomy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.skillTaxonomy = skillTaxonomy;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrate() {
+        List<String> applied = jdbcTemplate.queryForList("SELECT taxonomy_version FROM skill_key_version", String.class);
+        Integer unkeyed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM skills WHERE normalized_name IS NULL", Integer.class);
+        if (applied.contains(skillTaxonomy.version()) && (unkeyed == null || unkeyed == 0)) {
+            return;
+        }
+
+        List<StoredSkill> skills = jdbcTemplate.query(
+                "SELECT id, user_id, name, normalized_name FROM skills ORDER BY id",
+                (rs, rowNum) -> new StoredSkill(rs.getLong("id"), rs.getInt("user_id"),
+                        rs.getString("name"), rs.getString("normalized_name")));
+
+        // Oldest row first, so it is the one kept for its key
+        Map<String, Long> keptByUserAndKey = new HashMap<>();
+        List<Object[]> duplicates = new ArrayList<>();
+        List<Object[]> cleared = new ArrayList<>();
+        List<Object[]> rekeyed = new ArrayList<>();
+        for (StoredSkill skill : skills) {
+            String canonical = skillTaxonomy.canonicalize(skill.name());
+            String key = Skill.normalize(canonical);
+            if (keptByUserAndKey.putIfAbsent(skill.userId() + "\n" + key, skill.id()) != null) {
+                duplicates.add(new Object[]{skill.id()});
+            } else if (!key.equals(skill.normalizedName()) || !canonical.equals(skill.name())) {
+                cleared.add(new Object[]{skill.id()});
+                rekeyed.add(new Object[]{canonical, key, skill.id()});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("DELETE FROM skills WHERE id = ?", duplicates);
+        // Keys are cleared before any is set, so two rows trading keys never meet on the unique key
+        jdbcTemplate.batchUpdate("UPDATE skills SET normalized_name = NULL WHERE id = ?", cleared);
+        jdbcTemplate.batchUpdate("UPDATE skills SET name = ?, normalized_name = ? WHERE id = ?", rekeyed);
+        jdbcTemplate.update("DELETE FROM skill_key_version");
+        jdbcTemplate.update("INSERT INTO skill_key_version (taxonomy_version) VALUES (?)", skillTaxonomy.version());
+        logger.info("Re-keyed {} skills and merged {} duplicates for skill taxonomy {}",
+                rekeyed.size(), duplicates.size(), skillTaxonomy.version());
+    }
+}
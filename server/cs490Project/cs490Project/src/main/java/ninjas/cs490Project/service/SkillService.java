@@ -3,17 +3,31 @@ package ninjas.cs490Project.service;
 import ninjas.cs490Project.entity.Skill;
 import ninjas.cs490Project.entity.User;
 import ninjas.cs490Project.repository.SkillRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class SkillService {
+    // A name the user already has (under any case/spacing) hits the unique key and is left as is
+    private static final String UPSERT_SKILL = "INSERT INTO skills (name, normalized_name, user_id) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE name = name";
+
     private final SkillRepository skillRepository;
+    private final SkillTaxonomy skillTaxonomy;
+    private final JdbcTemplate jdbcTemplate;
 
-    public SkillService(SkillRepository skillRepository) {
+    public SkillService(SkillRepository skillRepository, SkillTaxonomy skillTaxonomy, JdbcTemplate jdbcTemplate) {
         this.skillRepository = skillRepository;
+        this.skillTaxonomy = skillTaxonomy;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public List<Skill> getUserSkills(User user) {
@@ -22,21 +36,7 @@ public class SkillService {
 
     @Transactional
     public Skill addSkill(String skillName, User user) {
-        // Normalize skill name (trim and convert to lowercase for comparison)
-        String normalizedSkillName = normalizeSkillName(skillName);
-        
-        // Check if skill already exists for this user (case-insensitive)
-        Optional<Skill> existingSkill = skillRepository.findByNameIgnoreCaseAndUser(normalizedSkillName, user);
-        
-        if (existingSkill.isPresent()) {
-            return existingSkill.get();
-        }
-
-        // Create new skill if it doesn't exist
-        Skill newSkill = new Skill();
-        newSkill.setName(skillName.trim()); // Preserve original case for display
-        newSkill.setUser(user);
-        return skillRepository.save(newSkill);
+        return addSkills(List.of(skillName), user).get(0);
     }
 
     @Transactional
@@ -49,17 +49,48 @@ public class SkillService {
         }
     }
 
+    /**
+     * Adds the skills the user does not have yet, matching case-insensitively after
+     * mapping known spellings to their SkillTaxonomy name ("JS" is stored as
+     * "JavaScript"), and returns the stored skill for each requested name in request
+     * order. The names are
+     * collapsed in memory first, so a skill listed many times in one parse is written
+     * once; then one batched upsert and one lookup by normalized name, whatever the list
+     * size. The unique (user_id, normalized_name) key keeps concurrent parses for the
+     * same user from inserting the same skill twice.
+     */
     @Transactional
     public List<Skill> addSkills(List<String> skillNames, User user) {
-        return skillNames.stream()
-                .map(skillName -> addSkill(skillName, user))
+        List<String> keys = new ArrayList<>(skillNames.size());
+        // First spelling wins for display, as it would have with one insert per name
+        Map<String, String> displayNames = new LinkedHashMap<>();
+        for (String skillName : skillNames) {
+            String canonical = skillTaxonomy.canonicalize(skillName);
+            String key = normalizeSkillName(canonical);
+            keys.add(key);
+            displayNames.putIfAbsent(key, canonical);
+        }
+        if (displayNames.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map.Entry<String, String>> rows = new ArrayList<>(displayNames.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_SKILL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getValue());
+            ps.setString(2, row.getKey());
+            ps.setInt(3, user.getId());
+        });
+
+        Map<String, Skill> skillsByName = new HashMap<>();
+        for (Skill skill : skillRepository.findByUserAndNormalizedNameIn(user, displayNames.keySet())) {
+            skillsByName.put(skill.getNormalizedName(), skill);
+        }
+        return keys.stream()
+                .map(skillsByName::get)
                 .toList();
     }
 
-    private String normalizeSkillName(String skillName) {
-        if (skillName == null) {
-            throw new IllegalArgumentException("Skill name cannot be null");
-        }
-        return skillName.trim().toLowerCase();
+    static String normalizeSkillName(String skillName) {
+        return Skill.normalize(skillName);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,236 @@
+package ninjas.cs490Project.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Shared skill dictionary loaded at startup from a bundled file (see
+ * skills/taxonomy.txt for the format). Maps the spellings of a skill ("JS",
+ * "Javascript", "javascript ") to one canonical name, and finds known skills in
+ * free text with an Aho-Corasick automaton: one pass over the text whatever the
+ * dictionary size. Immutable after construction, so safe to share across threads.
+ */
+@Service
+public class SkillTaxonomy {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillTaxonomy.class);
+
+    // Terms with this prefix canonicalize whole names only and are never searched for in text
+    private static final String EXACT_ONLY = "=";
+
+    private static final class Node {
+        private final Map<Character, Node> next = new HashMap<>();
+        private Node fail;
+        // Nearest node on the fail chain that ends a term
+        private Node output;
+        private String canonical;
+        private int length;
+    }
+
+    private final Map<String, String> canonicalByTerm = new HashMap<>();
+    private final Node root = new Node();
+    private final String version;
+    private int maxTermLength;
+
+    public SkillTaxonomy(@Value("${resume.skills.taxonomy:classpath:skills/taxonomy.txt}") Resource taxonomy) {
+        int skills = 0;
+        MessageDigest digest = sha256();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(taxonomy.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    digest.update((line + "\n").getBytes(StandardCharsets.UTF_8));
+                    addSkill(line.split("\\|"));
+                    skills++;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load skill taxonomy from " + taxonomy, e);
+        }
+        linkFailures();
+        version = HexFormat.of().formatHex(digest.digest());
+        logger.info("Loaded {} skills with {} spellings from {}", skills, canonicalByTerm.size(), taxonomy);
+    }
+
+    /**
+     * Fingerprint of the skill lines loaded (comments and blank lines aside), so stored
+     * data keyed by canonical name can tell when the taxonomy has changed.
+     */
+    public String version() {
+        return version;
+    }
+
+    /**
+     * The canonical name for a known spelling of a skill, otherwise the name trimmed.
+     */
+    public String canonicalize(String skillName) {
+        String canonical = canonicalByTerm.get(key(skillName));
+        return canonical != null ? canonical : skillName.trim();
+    }
+
+    /**
+     * Canonical names for the given skills in first-seen order, each skill once
+     * however many spellings of it the list holds.
+     */
+    public List<String> canonicalizeAll(Collection<String> skillNames) {
+        Map<String, String> distinct = new LinkedHashMap<>();
+        for (String skillName : skillNames) {
+            String canonical = canonicalize(skillName);
+            distinct.putIfAbsent(key(canonical), canonical);
+        }
+        return new ArrayList<>(distinct.values());
+    }
+
+    /**
+     * Canonical names of the known skills mentioned in the text, in order of first
+     * mention. A term only counts as a whole word: "Java" is not found in "JavaScript".
+     */
+    public List<String> extract(CharSequence text) {
+        Set<String> found = new LinkedHashSet<>();
+        // Text index of each character fed to the automaton, for the last maxTermLength of them
+        int[] fedAt = new int[Math.max(maxTermLength, 1)];
+        int fed = 0;
+        Node state = root;
+        char previous = ' ';
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            if (c == ' ' && previous == ' ') {
+                continue; // Runs of whitespace match a single space in a term
+            }
+            previous = c;
+            fedAt[fed % fedAt.length] = i;
+            fed++;
+
+            while (state != root && !state.next.containsKey(c)) {
+                state = state.fail;
+            }
+            state = state.next.getOrDefault(c, root);
+
+            for (Node match = state.canonical != null ? state : state.output; match != null; match = match.output) {
+                int start = fedAt[(fed - match.length) % fedAt.length];
+                if (isBoundary(text, start - 1, -1) && isBoundary(text, i + 1, 1)) {
+                    found.add(match.canonical);
+                }
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    private void addSkill(String[] terms) {
+        String canonical = stripExactOnly(terms[0].trim());
+        for (String rawTerm : terms) {
+            String term = rawTerm.trim();
+            boolean exactOnly = term.startsWith(EXACT_ONLY);
+            term = stripExactOnly(term);
+            if (term.isEmpty()) {
+                continue;
+            }
+            String key = key(term);
+            String existing = canonicalByTerm.putIfAbsent(key, canonical);
+            if (existing != null && !existing.equals(canonical)) {
+                logger.warn("Skill spelling '{}' already maps to '{}', ignoring it for '{}'", term, existing, canonical);
+                continue;
+            }
+            if (!exactOnly) {
+                insert(key, canonical);
+            }
+        }
+    }
+
+    private void insert(String key, String canonical) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.next.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        node.canonical = canonical;
+        node.length = key.length();
+        maxTermLength = Math.max(maxTermLength, key.length());
+    }
+
+    // Breadth-first, so every node's fail target is finished before its children need it
+    private void linkFailures() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.next.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            for (Map.Entry<Character, Node> edge : node.next.entrySet()) {
+                Node child = edge.getValue();
+                Node fail = node.fail;
+                while (fail != root && !fail.next.containsKey(edge.getKey())) {
+                    fail = fail.fail;
+                }
+                child.fail = fail.next.getOrDefault(edge.getKey(), root);
+                child.output = child.fail.canonical != null ? child.fail : child.fail.output;
+                queue.add(child);
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String stripExactOnly(String term) {
+        return term.startsWith(EXACT_ONLY) ? term.substring(EXACT_ONLY.length()).trim() : term;
+    }
+
+    // Same folding as extract(): lower case, any whitespace run as one space
+    private static String key(String term) {
+        StringBuilder key = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char c = fold(term.charAt(i));
+            if (c != ' ' || (key.length() > 0 && key.charAt(key.length() - 1) != ' ')) {
+                key.append(c);
+            }
+        }
+        int end = key.length();
+        return end > 0 && key.charAt(end - 1) == ' ' ? key.substring(0, end - 1) : key.toString();
+    }
+
+    private static char fold(char c) {
+        return Character.isWhitespace(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    // A dot between word characters ("React.js", "ASP.NET") joins them rather than separating
+    private static boolean isBoundary(CharSequence text, int index, int direction) {
+        if (index < 0 || index >= text.length()) {
+            return true;
+        }
+        char c = text.charAt(index);
+        if (c == '.') {
+            int beyond = index + direction;
+            return beyond < 0 || beyond >= text.length() || !Character.isLetterOrDigit(text.charAt(beyond));
+        }
+        return !Character.isLetterOrDigit(c);
+    }
+}
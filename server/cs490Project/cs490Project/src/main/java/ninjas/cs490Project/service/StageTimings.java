@@ -0,0 +1,118 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.entity.ProcessingStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where one job's time went, accumulated as it moves through the pipeline and stored
+ * on its ProcessingStatus when it finishes. Stages run one after another; any gap
+ * between them (waiting for a pool worker, from creation until the first stage) is
+ * booked as QUEUED, so the stages add up to the job's wall-clock time.
+ */
+public class StageTimings {
+
+    public enum Stage {
+        QUEUED,
+        EXTRACTION,
+        LLM_REQUEST,
+        LLM_PARSE,
+        PERSISTENCE
+    }
+
+    private final long[] nanos = new long[Stage.values().length];
+    private Stage running;
+    private long runningSince;
+    private long idleSince;
+
+    public StageTimings(Instant createdAt) {
+        long sinceCreation = createdAt != null ? Duration.between(createdAt, Instant.now()).toNanos() : 0L;
+        this.idleSince = System.nanoTime() - Math.max(0L, sinceCreation);
+    }
+
+    /**
+     * Marks the stage as running, booking the time since the previous stage as QUEUED.
+     */
+    public synchronized void begin(Stage stage) {
+        long now = System.nanoTime();
+        if (running == null) {
+            nanos[Stage.QUEUED.ordinal()] += now - idleSince;
+        }
+        running = stage;
+        runningSince = now;
+    }
+
+    /**
+     * Ends the stage if it is the one running; a no-op otherwise, so error paths can call it freely.
+     */
+    public synchronized void end(Stage stage) {
+        if (running != stage) {
+            return;
+        }
+        long now = System.nanoTime();
+        nanos[stage.ordinal()] += now - runningSince;
+        running = null;
+        idleSince = now;
+    }
+
+    // Not synchronized around the work itself, which may block
+    public <T> T time(Stage stage, Callable<T> work) throws Exception {
+        begin(stage);
+        try {
+            return work.call();
+        } finally {
+            end(stage);
+        }
+    }
+
+    public void time(Stage stage, Runnable work) {
+        begin(stage);
+        try {
+            work.run();
+        } finally {
+            end(stage);
+        }
+    }
+
+    public synchronized long millis(Stage stage) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos[stage.ordinal()]);
+    }
+
+    // QUEUED always counts, even when the job never waited
+    public synchronized boolean ran(Stage stage) {
+        return stage == Stage.QUEUED || nanos[stage.ordinal()] > 0;
+    }
+
+    /**
+     * Copies the durations onto the status; stages the job never ran stay null.
+     */
+    public synchronized void applyTo(ProcessingStatus status) {
+        status.setQueuedMs(recorded(Stage.QUEUED));
+        status.setExtractionMs(recorded(Stage.EXTRACTION));
+        status.setLlmRequestMs(recorded(Stage.LLM_REQUEST));
+        status.setLlmParseMs(recorded(Stage.LLM_PARSE));
+        status.setPersistenceMs(recorded(Stage.PERSISTENCE));
+    }
+
+    private Long recorded(Stage stage) {
+        return ran(stage) ? millis(stage) : null;
+    }
+
+    /**
+     * The stored durations in milliseconds, keyed as in the status API responses.
+     */
+    public static Map<String, Long> durationsOf(ProcessingStatus status) {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        durations.put("queuedMs", status.getQueuedMs());
+        durations.put("extractionMs", status.getExtractionMs());
+        durations.put("llmRequestMs", status.getLlmRequestMs());
+        durations.put("llmParseMs", status.getLlmParseMs());
+        durations.put("persistenceMs", status.getPersistenceMs());
+        return durations;
+    }
+}
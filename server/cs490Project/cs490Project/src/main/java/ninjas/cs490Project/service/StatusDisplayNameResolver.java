@@ -0,0 +1,94 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.entity.ProcessingStatus;
+import ninjas.cs490Project.repository.FreeformEntryRepository;
+import ninjas.cs490Project.repository.GeneratedResumeRepository;
+import ninjas.cs490Project.repository.UploadedResumeRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Looks up what the status list shows for each entity (resume name, job title,
+ * career id) for a whole page of statuses at once: at most one projection query
+ * per processing type, however many statuses are on the page.
+ */
+@Service
+public class StatusDisplayNameResolver {
+
+    private final UploadedResumeRepository uploadedResumeRepository;
+    private final GeneratedResumeRepository generatedResumeRepository;
+    private final FreeformEntryRepository freeformEntryRepository;
+
+    public StatusDisplayNameResolver(UploadedResumeRepository uploadedResumeRepository,
+                                     GeneratedResumeRepository generatedResumeRepository,
+                                     FreeformEntryRepository freeformEntryRepository) {
+        this.uploadedResumeRepository = uploadedResumeRepository;
+        this.generatedResumeRepository = generatedResumeRepository;
+        this.freeformEntryRepository = freeformEntryRepository;
+    }
+
+    /**
+     * Returns the display fields for each status, keyed by status id. Statuses whose
+     * entity no longer exists get an empty map.
+     */
+    public Map<Long, Map<String, Object>> resolve(List<ProcessingStatus> statuses) {
+        List<Long> uploadedIds = new ArrayList<>();
+        List<Long> generatedIds = new ArrayList<>();
+        List<Integer> freeformIds = new ArrayList<>();
+        for (ProcessingStatus status : statuses) {
+            switch (status.getProcessingType()) {
+                case UPLOADED_RESUME -> uploadedIds.add(status.getEntityId());
+                case GENERATED_RESUME -> generatedIds.add(status.getEntityId());
+                case FREEFORM_ENTRY -> freeformIds.add(status.getEntityId().intValue());
+            }
+        }
+
+        Map<Long, UploadedResumeRepository.TitleView> uploaded = uploadedIds.isEmpty() ? Map.of()
+                : uploadedResumeRepository.findTitlesByIdIn(uploadedIds).stream()
+                        .collect(Collectors.toMap(UploadedResumeRepository.TitleView::getId, Function.identity()));
+        Map<Long, GeneratedResumeRepository.JobView> generated = generatedIds.isEmpty() ? Map.of()
+                : generatedResumeRepository.findJobsByIdIn(generatedIds).stream()
+                        .collect(Collectors.toMap(GeneratedResumeRepository.JobView::getId, Function.identity()));
+        Map<Integer, FreeformEntryRepository.CareerView> freeform = freeformIds.isEmpty() ? Map.of()
+                : freeformEntryRepository.findCareersByIdIn(freeformIds).stream()
+                        .collect(Collectors.toMap(FreeformEntryRepository.CareerView::getId, Function.identity()));
+
+        Map<Long, Map<String, Object>> displayNames = new HashMap<>();
+        for (ProcessingStatus status : statuses) {
+            Map<String, Object> fields = new HashMap<>();
+            switch (status.getProcessingType()) {
+                case UPLOADED_RESUME -> {
+                    UploadedResumeRepository.TitleView resume = uploaded.get(status.getEntityId());
+                    if (resume != null) {
+                        fields.put("resumeName", resume.getTitle());
+                    }
+                }
+                case GENERATED_RESUME -> {
+                    GeneratedResumeRepository.JobView job = generated.get(status.getEntityId());
+                    if (job != null) {
+                        if (job.getJobTitle() != null) {
+                            fields.put("jobTitle", job.getJobTitle());
+                        } else { // No title, default to ID
+                            fields.put("jobId", job.getJobId());
+                        }
+                    }
+                }
+                case FREEFORM_ENTRY -> {
+                    FreeformEntryRepository.CareerView career = freeform.get(status.getEntityId().intValue());
+                    if (career != null) {
+                        fields.put("careerId", career.getCareerId());
+                    }
+                }
+                case GENERATED_RESUME_BATCH -> fields.put("jobCount", status.getItemsTotal());
+            }
+            displayNames.put(status.getId(), fields);
+        }
+        return displayNames;
+    }
+}
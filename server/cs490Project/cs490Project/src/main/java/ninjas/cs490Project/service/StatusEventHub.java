@@ -0,0 +1,217 @@
+package ninjas.cs490Project.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import ninjas.cs490Project.entity.ProcessingStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory fan-out of ProcessingStatus transitions to each user's open SSE streams.
+ * Every event gets a node-wide increasing id and is kept in a short per-user replay
+ * buffer, so a client that reconnects with Last-Event-ID receives what it missed.
+ * Idle streams get a heartbeat comment so proxies do not close them.
+ */
+@Service
+public class StatusEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusEventHub.class);
+
+    public static final String EVENT_NAME = "status";
+
+    private record BufferedEvent(long id, Map<String, Object> payload) {
+    }
+
+    private final StatusDisplayNameResolver statusDisplayNameResolver;
+    private final Map<Integer, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Cache<Integer, Deque<BufferedEvent>> replayBuffers;
+    private final AtomicLong nextEventId = new AtomicLong(System.currentTimeMillis());
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ScheduledExecutorService heartbeat;
+
+    private final int maxConnections;
+    private final int replaySize;
+    private final long emitterTimeoutMs;
+
+    public StatusEventHub(StatusDisplayNameResolver statusDisplayNameResolver,
+                          MeterRegistry meterRegistry,
+                          @Value("${resume.status.sse.max-connections:1000}") int maxConnections,
+                          @Value("${resume.status.sse.replay-size:50}") int replaySize,
+                          @Value("${resume.status.sse.timeout:30m}") Duration emitterTimeout,
+                          @Value("${resume.status.sse.heartbeat:15s}") Duration heartbeatInterval) {
+        this.statusDisplayNameResolver = statusDisplayNameResolver;
+        this.maxConnections = maxConnections;
+        this.replaySize = replaySize;
+        this.emitterTimeoutMs = emitterTimeout.toMillis();
+        this.replayBuffers = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "status-sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("resume.status.sse.connections", connections, AtomicInteger::get)
+                .description("Open status event streams on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user, first replaying buffered events newer than lastEventId.
+     * Throws IllegalStateException when this node already holds maxConnections streams.
+     */
+    public SseEmitter subscribe(int userId, String lastEventId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new IllegalStateException("Too many open status streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        subscribers.compute(userId, (id, userEmitters) -> {
+            Set<SseEmitter> emitters = userEmitters != null ? userEmitters : new CopyOnWriteArraySet<>();
+            emitters.add(emitter);
+            return emitters;
+        });
+        // Start buffering for this user so a dropped connection can catch up
+        replayBuffers.get(userId, id -> new ArrayDeque<>());
+
+        Runnable remove = () -> unsubscribe(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        for (BufferedEvent event : missedEvents(userId, lastEventId)) {
+            if (!send(emitter, event)) {
+                break;
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Pushes the status, with the same fields as GET /api/resumes/status, to the owner's streams.
+     */
+    public void publish(ProcessingStatus status) {
+        int userId = status.getUser().getId();
+        Deque<BufferedEvent> replay = replayBuffers.getIfPresent(userId);
+        if (replay == null) {
+            // User has not had a stream open recently; the REST endpoints still have the state
+            return;
+        }
+
+        BufferedEvent event = new BufferedEvent(nextEventId.incrementAndGet(), toPayload(status));
+        synchronized (replay) {
+            replay.addLast(event);
+            while (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+        }
+
+        Set<SseEmitter> userEmitters = subscribers.get(userId);
+        if (userEmitters != null) {
+            for (SseEmitter emitter : userEmitters) {
+                send(emitter, event);
+            }
+        }
+    }
+
+    private Map<String, Object> toPayload(ProcessingStatus status) {
+        return ProcessingStatusService.toPayload(status, statusDisplayNameResolver.resolve(List.of(status))
+                .getOrDefault(status.getId(), Map.of()));
+    }
+
+    private List<BufferedEvent> missedEvents(int userId, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        long lastId;
+        try {
+            lastId = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return List.of();
+        }
+        Deque<BufferedEvent> replay = replayBuffers.getIfPresent(userId);
+        if (replay == null) {
+            return List.of();
+        }
+        List<BufferedEvent> missed = new ArrayList<>();
+        synchronized (replay) {
+            for (BufferedEvent event : replay) {
+                if (event.id() > lastId) {
+                    missed.add(event);
+                }
+            }
+        }
+        return missed;
+    }
+
+    private boolean send(SseEmitter emitter, BufferedEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.id()))
+                    .name(EVENT_NAME)
+                    .data(event.payload()));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; completing triggers the removal callback
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Set<SseEmitter> userEmitters : subscribers.values()) {
+            for (SseEmitter emitter : userEmitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                } catch (IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+    }
+
+    private void unsubscribe(int userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, userEmitters) -> {
+            if (userEmitters.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        for (Set<SseEmitter> userEmitters : subscribers.values()) {
+            userEmitters.forEach(SseEmitter::complete);
+        }
+        logger.info("Closed {} status event streams", connections.get());
+    }
+}
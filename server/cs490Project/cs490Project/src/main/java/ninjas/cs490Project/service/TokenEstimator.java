@@ -0,0 +1,38 @@
+package ninjas.cs490Project.service;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingResult;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts tokens locally with the cl100k_base encoding used by the GPT-3.5/GPT-4 chat
+ * models, so prompts can be sized before they are sent. Counts of concatenated parts
+ * can differ from the count of the whole by a token at each seam, which is fine for
+ * budgeting. Thread-safe.
+ */
+@Component
+public class TokenEstimator {
+
+    private final Encoding encoding = Encodings.newDefaultEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
+
+    public int count(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokens(text);
+    }
+
+    /**
+     * The longest prefix of the text that encodes to at most maxTokens tokens, cut on a
+     * token boundary; the text itself if it already fits.
+     */
+    public String truncate(String text, int maxTokens) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        EncodingResult result = encoding.encodeOrdinary(text, Math.max(maxTokens, 0));
+        if (!result.isTruncated()) {
+            return text;
+        }
+        return text.substring(0, result.getLastProcessedCharacterIndex() + 1);
+    }
+}
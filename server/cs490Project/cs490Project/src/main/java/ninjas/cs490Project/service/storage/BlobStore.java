@@ -0,0 +1,23 @@
+package ninjas.cs490Project.service.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Content-addressed storage for uploaded files. Blobs are keyed by the SHA-256 of
+ * their bytes, so storing the same file twice keeps a single copy.
+ */
+public interface BlobStore {
+
+    /**
+     * Streams the content into the store without buffering it in memory.
+     */
+    StoredBlob put(InputStream content) throws IOException;
+
+    /**
+     * Returns a streamable handle to a stored blob.
+     */
+    Resource get(String key) throws IOException;
+}
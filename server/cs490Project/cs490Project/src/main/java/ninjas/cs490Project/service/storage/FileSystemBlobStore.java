@@ -0,0 +1,79 @@
+package ninjas.cs490Project.service.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores blobs on the local filesystem under root/ab/cd/&lt;sha256&gt;. Content is
+ * streamed to a temp file in the same directory tree and atomically moved into place.
+ */
+@Component
+@ConditionalOnProperty(name = "resume.storage.type", havingValue = "local", matchIfMissing = true)
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemBlobStore.class);
+
+    private final Path root;
+
+    public FileSystemBlobStore(@Value("${resume.storage.local.root:data/resumes}") String root) throws IOException {
+        this.root = Path.of(root).toAbsolutePath();
+        Files.createDirectories(this.root.resolve("tmp"));
+        logger.info("Storing uploaded files under {}", this.root);
+    }
+
+    @Override
+    public StoredBlob put(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(root.resolve("tmp"), "upload-", ".part");
+        try {
+            HashingInputStream hashing = new HashingInputStream(content);
+            long size = Files.copy(hashing, temp, StandardCopyOption.REPLACE_EXISTING);
+            String sha256 = hashing.sha256();
+
+            Path target = pathFor(sha256);
+            if (Files.exists(target)) {
+                // Same bytes already stored
+                return new StoredBlob(sha256, sha256, size);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                if (!Files.exists(target)) {
+                    throw e;
+                }
+                // A concurrent upload of the same file won the race
+            }
+            return new StoredBlob(sha256, sha256, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource get(String key) throws IOException {
+        Path path = pathFor(key);
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException("Blob not found: " + key);
+        }
+        return new FileSystemResource(path);
+    }
+
+    private Path pathFor(String key) {
+        if (!key.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid blob key");
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
@@ -0,0 +1,29 @@
+package ninjas.cs490Project.service.storage;
+
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes the SHA-256 of everything read through it.
+ */
+class HashingInputStream extends DigestInputStream {
+
+    HashingInputStream(InputStream in) {
+        super(in, newDigest());
+    }
+
+    String sha256() {
+        return HexFormat.of().formatHex(getMessageDigest().digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
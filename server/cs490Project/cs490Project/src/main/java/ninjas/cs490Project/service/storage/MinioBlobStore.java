@@ -0,0 +1,134 @@
+package ninjas.cs490Project.service.storage;
+
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores blobs in an S3-compatible bucket (MinIO, S3). Uploads are spooled to a temp
+ * file so the key can be the content hash, then streamed to the bucket.
+ */
+@Component
+@ConditionalOnProperty(name = "resume.storage.type", havingValue = "minio")
+public class MinioBlobStore implements BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MinioBlobStore.class);
+
+    private final MinioClient minioClient;
+    private final String bucket;
+
+    public MinioBlobStore(@Value("${resume.storage.minio.endpoint}") String endpoint,
+                          @Value("${resume.storage.minio.access-key}") String accessKey,
+                          @Value("${resume.storage.minio.secret-key}") String secretKey,
+                          @Value("${resume.storage.minio.bucket:resumes}") String bucket) throws IOException {
+        this.minioClient = MinioClient.builder()
+                .endpoint(endpoint)
+                .credentials(accessKey, secretKey)
+                .build();
+        this.bucket = bucket;
+        try {
+            if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucket).build())) {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucket).build());
+            }
+        } catch (Exception e) {
+            throw new IOException("Could not initialise bucket " + bucket, e);
+        }
+        logger.info("Storing uploaded files in bucket {} at {}", bucket, endpoint);
+    }
+
+    @Override
+    public StoredBlob put(InputStream content) throws IOException {
+        Path temp = Files.createTempFile("upload-", ".part");
+        try {
+            HashingInputStream hashing = new HashingInputStream(content);
+            long size = Files.copy(hashing, temp, StandardCopyOption.REPLACE_EXISTING);
+            String sha256 = hashing.sha256();
+
+            if (stat(sha256) == null) {
+                try (InputStream in = Files.newInputStream(temp)) {
+                    minioClient.putObject(PutObjectArgs.builder()
+                            .bucket(bucket)
+                            .object(sha256)
+                            .stream(in, size, -1)
+                            .build());
+                } catch (Exception e) {
+                    throw new IOException("Failed to store blob " + sha256, e);
+                }
+            }
+            return new StoredBlob(sha256, sha256, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource get(String key) throws IOException {
+        StatObjectResponse stat = stat(key);
+        if (stat == null) {
+            throw new FileNotFoundException("Blob not found: " + key);
+        }
+        long size = stat.size();
+        // Opened lazily so a 304 or HEAD never starts an object download
+        return new AbstractResource() {
+            @Override
+            public String getDescription() {
+                return "MinIO object [" + bucket + "/" + key + "]";
+            }
+
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return open(key);
+            }
+
+            @Override
+            public boolean exists() {
+                return true;
+            }
+
+            @Override
+            public long contentLength() {
+                return size;
+            }
+        };
+    }
+
+    private InputStream open(String key) throws IOException {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder().bucket(bucket).object(key).build());
+        } catch (Exception e) {
+            throw new IOException("Failed to read blob " + key, e);
+        }
+    }
+
+    private StatObjectResponse stat(String key) throws IOException {
+        try {
+            return minioClient.statObject(StatObjectArgs.builder().bucket(bucket).object(key).build());
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return null;
+            }
+            throw new IOException("Failed to stat blob " + key, e);
+        } catch (Exception e) {
+            throw new IOException("Failed to stat blob " + key, e);
+        }
+    }
+}
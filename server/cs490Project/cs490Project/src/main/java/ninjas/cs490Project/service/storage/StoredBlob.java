@@ -0,0 +1,7 @@
+package ninjas.cs490Project.service.storage;
+
+/**
+ * Reference to a stored blob: its key in the store, SHA-256 checksum and size in bytes.
+ */
+public record StoredBlob(String key, String sha256, long size) {
+}
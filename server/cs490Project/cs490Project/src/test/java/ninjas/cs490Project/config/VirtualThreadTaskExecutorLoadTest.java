@@ -0,0 +1,133 @@
+package ninjas.cs490Project.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives 1,500 blocking HTTP calls through a VirtualThreadTaskExecutor against a local
+ * stub /v1/chat/completions endpoint and checks they are all in flight at once without
+ * a matching number of OS threads. Its wall-clock and thread-count limits depend on the
+ * machine, so it only runs on request:
+ * mvn test -Dtest=VirtualThreadTaskExecutorLoadTest -Dloadtest.virtual-threads=true
+ */
+@EnabledIfSystemProperty(named = "loadtest.virtual-threads", matches = "true")
+class VirtualThreadTaskExecutorLoadTest {
+
+    private static final int JOBS = 1500;
+    private static final long STUB_LATENCY_MS = 1000;
+    private static final String COMPLETION =
+            "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"{\\\"skills\\\":[]}\"}}]}";
+
+    private final AtomicInteger inFlightAtStub = new AtomicInteger();
+    private final AtomicInteger peakAtStub = new AtomicInteger();
+
+    private ExecutorService stubExecutor;
+    private HttpServer stubServer;
+    private VirtualThreadTaskExecutor executor;
+
+    @BeforeEach
+    void startStubLlm() throws Exception {
+        stubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), JOBS * 2);
+        stubServer.setExecutor(stubExecutor);
+        stubServer.createContext("/v1/chat/completions", exchange -> {
+            int current = inFlightAtStub.incrementAndGet();
+            peakAtStub.accumulateAndGet(current, Math::max);
+            try {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(STUB_LATENCY_MS);
+                byte[] body = COMPLETION.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlightAtStub.decrementAndGet();
+                exchange.close();
+            }
+        });
+        stubServer.start();
+    }
+
+    @AfterEach
+    void stopStubLlm() {
+        if (executor != null) {
+            executor.close();
+        }
+        stubServer.stop(0);
+        stubExecutor.close();
+    }
+
+    @Test
+    void keepsOverAThousandBlockingCallsInFlight() throws Exception {
+        executor = new VirtualThreadTaskExecutor(JOBS);
+        URI uri = URI.create("http://127.0.0.1:" + stubServer.getAddress().getPort() + "/v1/chat/completions");
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .build();
+
+            CountDownLatch done = new CountDownLatch(JOBS);
+            AtomicInteger succeeded = new AtomicInteger();
+            int platformThreadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+            AtomicInteger peakPlatformThreads = new AtomicInteger(platformThreadsBefore);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < JOBS; i++) {
+                executor.execute(() -> {
+                    try {
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .timeout(Duration.ofSeconds(30))
+                                .POST(HttpRequest.BodyPublishers.ofString("{\"model\":\"stub\"}"))
+                                .build();
+                        // Blocking call: the task parks its virtual thread, not an OS thread
+                        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() == 200) {
+                            succeeded.incrementAndGet();
+                        }
+                        peakPlatformThreads.accumulateAndGet(
+                                ManagementFactory.getThreadMXBean().getThreadCount(), Math::max);
+                    } catch (Exception e) {
+                        // counted as a failure below
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            assertTrue(done.await(60, TimeUnit.SECONDS), "jobs did not finish in time");
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(JOBS, succeeded.get());
+            assertTrue(peakAtStub.get() >= 1000,
+                    "expected 1000+ concurrent calls at the stub, saw " + peakAtStub.get());
+            // Serialized on a 32-thread pool this would take ~47 s
+            assertTrue(elapsedMs < 20_000, "took " + elapsedMs + " ms");
+            assertTrue(peakPlatformThreads.get() - platformThreadsBefore < 200,
+                    "platform threads grew to " + peakPlatformThreads.get());
+        }
+    }
+}
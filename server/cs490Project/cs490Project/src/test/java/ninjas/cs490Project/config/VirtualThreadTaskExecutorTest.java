@@ -0,0 +1,37 @@
+package ninjas.cs490Project.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VirtualThreadTaskExecutorTest {
+
+    private final VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void closeExecutor() {
+        release.countDown();
+        executor.close();
+    }
+
+    @Test
+    void rejectsSubmissionsBeyondMaxInFlight() {
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package ninjas.cs490Project.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ninjas.cs490Project.entity.User;
+import ninjas.cs490Project.repository.UserRepository;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the whole application on a random port against H2 (MySQL mode) and a local stub
+ * of /v1/chat/completions, then has virtual users log in and loop over uploads, freeform
+ * entries and generations (plain, streamed and batched), polling each job's status until
+ * it finishes. Logs throughput, p50/p99 request latency, end-to-end job completion time
+ * and its per-stage breakdown, and checks the pipeline metrics reach /actuator/prometheus.
+ *
+ * Its randomized mix and timings vary between runs, so the load run only happens on request,
+ * scaled with system properties, e.g.
+ * mvn test -Dtest=EndToEndLoadTest -Dloadtest.end-to-end=true -Dloadtest.users=200
+ *     -Dloadtest.duration=120s -Dloadtest.llm.latency=2s -Dloadtest.llm.failure-rate=0.02
+ * Every build runs the smoke test instead: one user submits each kind of job once.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// Keep the Prometheus registry, which Boot tests switch off by default
+@AutoConfigureObservability
+@ActiveProfiles("loadtest")
+class EndToEndLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndToEndLoadTest.class);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 8);
+    private static final Duration DURATION = duration("loadtest.duration", "10s");
+    private static final Duration LLM_LATENCY = duration("loadtest.llm.latency", "200ms");
+    private static final Duration LLM_JITTER = duration("loadtest.llm.jitter", "200ms");
+    private static final double LLM_FAILURE_RATE =
+            Double.parseDouble(System.getProperty("loadtest.llm.failure-rate", "0"));
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final Duration JOB_TIMEOUT = Duration.ofSeconds(60);
+    private static final String PASSWORD = "load-test-password";
+    private static final String BACKEND_JOB = "Design, build and operate Java and Spring Boot services on Kubernetes, "
+            + "own REST APIs and MySQL data models, and mentor other engineers on the team.";
+    private static final String DATA_JOB = "Build Python and Apache Spark pipelines on AWS, model data in SQL "
+            + "and keep Kafka ingestion reliable.";
+
+    private static StubLlmServer stubLlm;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    private HttpClient httpClient;
+
+    @DynamicPropertySource
+    static void stubLlmProperties(DynamicPropertyRegistry registry) throws IOException {
+        stubLlm = new StubLlmServer(LLM_LATENCY, LLM_JITTER, LLM_FAILURE_RATE);
+        registry.add("gpt.api.base-url", stubLlm::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStubLlm() {
+        stubLlm.close();
+    }
+
+    @Test
+    void everyJobTypeCompletesOnce() throws Exception {
+        long start = System.nanoTime();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        String email = seedVerifiedUsers(1).get(0);
+        String cookie = login(email);
+        assertNotNull(cookie, "login failed");
+        long jobId = submitJob(cookie, "Backend Engineer", BACKEND_JOB);
+        long otherJobId = submitJob(cookie, "Data Engineer", DATA_JOB);
+
+        awaitSubmitted("upload", cookie, send("POST upload", cookie, upload(resumePdf(email))));
+        awaitSubmitted("freeform", cookie, send("POST freeform", cookie, post("/api/resumes/career/freeform",
+                Map.of("text", "Software engineer at Acme from 2012 to 2020 building Spring Boot services."))));
+        awaitSubmitted("generate", cookie, send("POST generate", cookie,
+                post("/api/resumes/generate", Map.of("jobId", jobId))));
+        streamGeneration(cookie, jobId);
+        awaitSubmitted("batch", cookie, send("POST generate batch", cookie,
+                post("/api/resumes/generate/batch", Map.of("jobIds", List.of(jobId, otherJobId)))));
+        send("GET job match", cookie, get("/api/jobs/" + jobId + "/match"));
+
+        assertEquals(0, recorder.totalErrors(), "requests or jobs failed:" + recorder.report(System.nanoTime() - start));
+        for (String type : List.of("upload", "freeform", "generate", "stream", "batch")) {
+            assertEquals(1, recorder.count("job " + type), type + " did not complete");
+        }
+        assertPipelineMetricsExported();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "loadtest.end-to-end", matches = "true")
+    void uploadParseAndGenerateUnderLoad() throws Exception {
+        List<String> emails = seedVerifiedUsers(USERS);
+
+        long start = System.nanoTime();
+        long deadline = start + DURATION.toNanos();
+        List<Future<?>> virtualUsers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+            for (String email : emails) {
+                virtualUsers.add(executor.submit(() -> {
+                    runUser(email, deadline);
+                    return null;
+                }));
+            }
+            for (Future<?> virtualUser : virtualUsers) {
+                virtualUser.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        logger.info("End-to-end load: {} users for {}, stub LLM {} +{} at {} failure rate ({} calls, {} failed){}",
+                USERS, DURATION, LLM_LATENCY, LLM_JITTER, LLM_FAILURE_RATE,
+                stubLlm.requests(), stubLlm.failures(), recorder.report(elapsed));
+
+        int jobs = recorder.count("job upload") + recorder.count("job freeform") + recorder.count("job generate")
+                + recorder.count("job batch") + recorder.count("job stream");
+        assertTrue(jobs > 0, "no job finished");
+        if (LLM_FAILURE_RATE == 0) {
+            assertEquals(0, recorder.totalErrors(), "requests or jobs failed without injected LLM failures");
+        }
+
+        assertPipelineMetricsExported();
+    }
+
+    private void assertPipelineMetricsExported() throws Exception {
+        // The load test's client is gone with its executor
+        String scrape = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                        URI.create("http://127.0.0.1:" + managementPort + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        for (String metric : List.of("resume_llm_requests_seconds_bucket", "resume_llm_tokens_total",
+                "resume_extraction_duration_seconds_count", "resume_status_pending_seconds_count",
+                "resume_status_total_seconds_count")) {
+            assertTrue(scrape.contains(metric), metric + " missing from /actuator/prometheus");
+        }
+    }
+
+    private List<String> seedVerifiedUsers(int count) {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String email = "load-" + i + "-" + UUID.randomUUID() + "@example.com";
+            User user = new User();
+            user.setEmail(email);
+            user.setUsername(email);
+            user.setFirstName("Load");
+            user.setLastName("User" + i);
+            user.setPasswordHash(passwordHash);
+            user.setIsVerified(true);
+            userRepository.save(user);
+            emails.add(email);
+        }
+        return emails;
+    }
+
+    private void runUser(String email, long deadline) throws Exception {
+        String cookie = login(email);
+        if (cookie == null) {
+            return;
+        }
+        JsonNode job = send("submit job", cookie, post("/api/jobs/submit", Map.of(
+                "jobTitle", "Backend Engineer",
+                "jobDescription", BACKEND_JOB)));
+        if (job == null) {
+            return;
+        }
+        long jobId = job.get("jobId").asLong();
+        JsonNode otherJob = send("submit job", cookie, post("/api/jobs/submit", Map.of(
+                "jobTitle", "Data Engineer",
+                "jobDescription", DATA_JOB)));
+        if (otherJob == null) {
+            return;
+        }
+        List<Long> batchJobIds = List.of(jobId, otherJob.get("jobId").asLong());
+
+        while (System.nanoTime() < deadline) {
+            int pick = ThreadLocalRandom.current().nextInt(100);
+            JsonNode submitted;
+            String type;
+            long submittedAt = System.nanoTime();
+            if (pick < 35) {
+                type = "upload";
+                submitted = send("POST upload", cookie, upload(resumePdf(email)));
+            } else if (pick < 60) {
+                type = "freeform";
+                submitted = send("POST freeform", cookie, post("/api/resumes/career/freeform", Map.of("text",
+                        "Software engineer at Acme from 2012 to 2020 building Spring Boot services. "
+                                + UUID.randomUUID())));
+            } else if (pick < 80) {
+                type = "generate";
+                submitted = send("POST generate", cookie, post("/api/resumes/generate", Map.of("jobId", jobId)));
+            } else if (pick < 90) {
+                // Finished within the request, there is no status to poll
+                streamGeneration(cookie, jobId);
+                submitted = null;
+                type = "stream";
+            } else {
+                // Finishes when every job of the batch has
+                type = "batch";
+                submitted = send("POST generate batch", cookie,
+                        post("/api/resumes/generate/batch", Map.of("jobIds", batchJobIds)));
+            }
+            if (submitted != null) {
+                awaitJob(type, cookie, submitted.get("statusId").asLong(), submittedAt);
+            }
+            send("GET status list", cookie, get("/api/resumes/status?limit=5"));
+            send("GET job match", cookie, get("/api/jobs/" + jobId + "/match"));
+        }
+    }
+
+    /**
+     * Reads POST /api/resumes/generate/stream to its "done" event, recording when the
+     * first resume section arrived as well as the whole generation.
+     */
+    private void streamGeneration(String cookie, long jobId) throws Exception {
+        HttpRequest request = post("/api/resumes/generate/stream", Map.of("jobId", jobId))
+                .header("Cookie", cookie)
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+        if (response.statusCode() != 200) {
+            response.body().close();
+            recorder.error("job stream");
+            return;
+        }
+        boolean sawSection = false;
+        try (Stream<String> lines = response.body()) {
+            for (String line : (Iterable<String>) lines::iterator) {
+                if (!line.startsWith("event:")) {
+                    continue;
+                }
+                String event = line.substring("event:".length()).trim();
+                if ("done".equals(event)) {
+                    recorder.record("job stream", System.nanoTime() - start);
+                    return;
+                }
+                if ("error".equals(event)) {
+                    break;
+                }
+                if (!sawSection && !"started".equals(event)) {
+                    sawSection = true;
+                    recorder.record("stream first section", System.nanoTime() - start);
+                }
+            }
+        }
+        recorder.error("job stream");
+    }
+
+    private long submitJob(String cookie, String title, String description) throws Exception {
+        JsonNode job = send("submit job", cookie, post("/api/jobs/submit",
+                Map.of("jobTitle", title, "jobDescription", description)));
+        assertNotNull(job, "submitting " + title + " failed");
+        return job.get("jobId").asLong();
+    }
+
+    private void awaitSubmitted(String type, String cookie, JsonNode submitted) throws Exception {
+        assertNotNull(submitted, "submitting the " + type + " job failed");
+        awaitJob(type, cookie, submitted.get("statusId").asLong(), System.nanoTime());
+    }
+
+    private String login(String email) throws Exception {
+        HttpRequest request = post("/auth/login", Map.of("email", email, "password", PASSWORD)).build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            recorder.error("POST login");
+            return null;
+        }
+        recorder.record("POST login", System.nanoTime() - start);
+        return response.headers().firstValue("Set-Cookie")
+                .map(setCookie -> setCookie.substring(0, setCookie.indexOf(';')))
+                .orElse(null);
+    }
+
+    /**
+     * Polls the status until COMPLETED or FAILED; the job's time runs from its submit request.
+     */
+    private void awaitJob(String type, String cookie, long statusId, long submittedAt) throws Exception {
+        long timeout = submittedAt + JOB_TIMEOUT.toNanos();
+        while (System.nanoTime() < timeout) {
+            JsonNode status = send("GET status", cookie, get("/api/resumes/status/" + statusId));
+            String state = status == null ? null : status.get("status").asText();
+            if ("COMPLETED".equals(state)) {
+                recorder.record("job " + type, System.nanoTime() - submittedAt);
+                // Server-side breakdown of the same job
+                status.get("stages").properties().forEach(stage -> {
+                    if (!stage.getValue().isNull()) {
+                        recorder.record("stage " + stage.getKey(),
+                                TimeUnit.MILLISECONDS.toNanos(stage.getValue().asLong()));
+                    }
+                });
+                return;
+            }
+            if ("FAILED".equals(state)) {
+                recorder.error("job " + type);
+                return;
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        recorder.error("job " + type);
+    }
+
+    private JsonNode send(String operation, String cookie, HttpRequest.Builder builder) throws Exception {
+        HttpRequest request = builder.header("Cookie", cookie).build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - start;
+        if (response.statusCode() != 200) {
+            logger.warn("{} returned {}: {}", operation, response.statusCode(), response.body());
+            recorder.error(operation);
+            return null;
+        }
+        recorder.record(operation, elapsed);
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Map<String, ?> body) throws IOException {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private HttpRequest.Builder upload(byte[] pdf) {
+        String boundary = "load-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"resume.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(pdf);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(uri("/api/resumes/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    /**
+     * A one-page resume with a unique line, so uploads miss the content-addressed parse cache.
+     */
+    private static byte[] resumePdf(String email) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 11);
+                content.setLeading(15);
+                content.newLineAtOffset(50, 740);
+                for (String line : List.of("Load User", email, "Reference " + UUID.randomUUID(), "",
+                        "EXPERIENCE", "Software Engineer, Acme (2012 - 2020)",
+                        "Built and operated Spring Boot services; cut p99 latency by 40%.", "",
+                        "EDUCATION", "B.S. Computer Science, State University (2008 - 2012)", "",
+                        "SKILLS", "Java, Spring Boot, SQL, Docker")) {
+                    content.showText(line);
+                    content.newLine();
+                }
+                content.endText();
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        String value = System.getProperty(property, defaultValue).trim().toLowerCase();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value.toUpperCase());
+    }
+}
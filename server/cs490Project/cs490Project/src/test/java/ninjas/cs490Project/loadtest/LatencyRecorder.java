@@ -0,0 +1,62 @@
+package ninjas.cs490Project.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe latency samples and error counts per named operation, summarised as
+ * count, errors, throughput, p50, p99 and max.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, List<Long>> samples = new TreeMap<>();
+    private final Map<String, Integer> errors = new TreeMap<>();
+
+    synchronized void record(String operation, long elapsedNanos) {
+        samples.computeIfAbsent(operation, key -> new ArrayList<>()).add(elapsedNanos);
+    }
+
+    synchronized void error(String operation) {
+        errors.merge(operation, 1, Integer::sum);
+        samples.computeIfAbsent(operation, key -> new ArrayList<>());
+    }
+
+    synchronized int count(String operation) {
+        return samples.getOrDefault(operation, List.of()).size();
+    }
+
+    synchronized int totalErrors() {
+        return errors.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    synchronized String report(long wallClockNanos) {
+        double seconds = wallClockNanos / 1e9;
+        StringBuilder report = new StringBuilder(String.format("%n%-24s %8s %7s %9s %10s %10s %10s%n",
+                "operation", "count", "errors", "per sec", "p50 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            List<Long> sorted = new ArrayList<>(entry.getValue());
+            Collections.sort(sorted);
+            report.append(String.format("%-24s %8d %7d %9.1f %10.1f %10.1f %10.1f%n",
+                    entry.getKey(), sorted.size(), errors.getOrDefault(entry.getKey(), 0),
+                    sorted.size() / seconds, millis(percentile(sorted, 50)), millis(percentile(sorted, 99)),
+                    millis(sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1))));
+        }
+        return report.toString();
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,135 @@
+package ninjas.cs490Project.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for /v1/chat/completions. Every call waits latency plus up to jitter,
+ * then fails with a 500 at failureRate or answers with one canned resume. The same
+ * content deserializes into both ResumeParsingResult and ResumeGenerationResult.
+ * A "stream": true request gets the content as Server-Sent Event deltas instead: the
+ * first after a quarter of the wait, the rest spread over the remainder.
+ */
+final class StubLlmServer implements AutoCloseable {
+
+    private static final String CONTENT = "{\"personalInfo\":{\"firstName\":\"Load\",\"lastName\":\"Test\","
+            + "\"email\":\"load@example.com\",\"phone\":\"555-0100\",\"address\":\"Newark, NJ\"},"
+            + "\"skills\":[\"Java\",\"Spring Boot\",\"SQL\",\"Docker\"],"
+            + "\"educationList\":[{\"institution\":\"State University\",\"degree\":\"B.S.\","
+            + "\"fieldOfStudy\":\"Computer Science\",\"startDate\":\"2008-09-01\",\"endDate\":\"2012-05-31\","
+            + "\"description\":\"Dean's list\",\"gpa\":3.6}],"
+            + "\"workExperienceList\":[{\"company\":\"Acme\",\"jobTitle\":\"Software Engineer\","
+            + "\"startDate\":\"2012-06-01\",\"endDate\":\"2020-01-31\","
+            + "\"responsibilities\":\"- Built Spring Boot services\",\"accomplishments\":\"- Cut latency by 40%\"}]}";
+
+    private static final int STREAM_PIECE_CHARS = 24;
+
+    private final Duration latency;
+    private final Duration jitter;
+    private final double failureRate;
+    private final byte[] completion;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    StubLlmServer(Duration latency, Duration jitter, double failureRate) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.failureRate = failureRate;
+        String escaped = CONTENT.replace("\\", "\\\\").replace("\"", "\\\"");
+        this.completion = ("{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion\",\"model\":\"stub\","
+                + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"" + escaped + "\"},"
+                + "\"finish_reason\":\"stop\"}],"
+                + "\"usage\":{\"prompt_tokens\":900,\"completion_tokens\":400,\"total_tokens\":1300}}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(executor);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    int failures() {
+        return failures.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            boolean stream = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)
+                    .contains("\"stream\":true");
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long jitterMs = jitter.isZero() ? 0 : random.nextLong(jitter.toMillis() + 1);
+            long waitMs = latency.toMillis() + jitterMs;
+            Thread.sleep(stream ? waitMs / 4 : waitMs);
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (random.nextDouble() < failureRate) {
+                failures.incrementAndGet();
+                byte[] error = "{\"error\":{\"message\":\"stub failure\",\"type\":\"server_error\"}}"
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(500, error.length);
+                exchange.getResponseBody().write(error);
+                return;
+            }
+            if (stream) {
+                streamCompletion(exchange, waitMs - waitMs / 4);
+                return;
+            }
+            exchange.sendResponseHeaders(200, completion.length);
+            exchange.getResponseBody().write(completion);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void streamCompletion(HttpExchange exchange, long remainingMs) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        int pieces = (CONTENT.length() + STREAM_PIECE_CHARS - 1) / STREAM_PIECE_CHARS;
+        for (int i = 0; i < pieces; i++) {
+            if (i > 0) {
+                Thread.sleep(remainingMs / pieces);
+            }
+            String piece = CONTENT.substring(i * STREAM_PIECE_CHARS,
+                    Math.min(CONTENT.length(), (i + 1) * STREAM_PIECE_CHARS));
+            writeEvent(body, "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\","
+                    + "\"choices\":[{\"index\":0,\"delta\":{\"content\":\""
+                    + piece.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}}]}");
+        }
+        writeEvent(body, "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\",\"choices\":[],"
+                + "\"usage\":{\"prompt_tokens\":900,\"completion_tokens\":400,\"total_tokens\":1300}}");
+        writeEvent(body, "[DONE]");
+    }
+
+    private static void writeEvent(OutputStream body, String data) throws IOException {
+        body.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
@@ -0,0 +1,132 @@
+package ninjas.cs490Project.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ninjas.cs490Project.entity.UploadedResume;
+import ninjas.cs490Project.entity.User;
+import ninjas.cs490Project.repository.UploadedResumeRepository;
+import ninjas.cs490Project.repository.UserRepository;
+import ninjas.cs490Project.security.AuthenticatedUser;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts users SELECTs for 100 authenticated requests from one user, with and
+ * without the principal cache.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import(AuthenticatedUserCache.class)
+class AuthenticatedUserCacheTest {
+
+    private static final int REQUESTS = 100;
+    private static final String EMAIL = "cache@example.com";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UploadedResumeRepository uploadedResumeRepository;
+
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setUsername("cache-user");
+        user.setFirstName("Cache");
+        user.setLastName("User");
+        user.setEmail(EMAIL);
+        user.setPasswordHash("x");
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+        // The cache outlives each test's rolled-back transaction
+        authenticatedUserCache.evict(EMAIL);
+    }
+
+    @Test
+    void cachedPrincipalCutsUserQueriesToOne() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        for (int i = 0; i < REQUESTS; i++) {
+            entityManager.clear();
+            userRepository.findByEmail(EMAIL);
+        }
+        long uncached = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        for (int i = 0; i < REQUESTS; i++) {
+            entityManager.clear();
+            authenticatedUserCache.get(EMAIL);
+        }
+        long cached = statistics.getPrepareStatementCount();
+
+        assertEquals(REQUESTS, uncached);
+        assertEquals(1, cached);
+    }
+
+    @Test
+    void evictReloadsChangedUser() {
+        assertEquals("Cache", authenticatedUserCache.get(EMAIL).orElseThrow().firstName());
+
+        User user = userRepository.findByEmail(EMAIL);
+        user.setFirstName("Renamed");
+        userRepository.saveAndFlush(user);
+        authenticatedUserCache.evict(EMAIL);
+
+        assertEquals("Renamed", authenticatedUserCache.get(EMAIL).orElseThrow().firstName());
+    }
+
+    @Test
+    void unknownEmailIsNotCached() {
+        assertTrue(authenticatedUserCache.get("new@example.com").isEmpty());
+
+        User user = new User();
+        user.setUsername("new-user");
+        user.setFirstName("New");
+        user.setLastName("User");
+        user.setEmail("new@example.com");
+        user.setPasswordHash("x");
+        userRepository.saveAndFlush(user);
+
+        assertTrue(authenticatedUserCache.get("new@example.com").isPresent());
+    }
+
+    @Test
+    void principalUserCanOwnNewEntities() {
+        AuthenticatedUser principal = authenticatedUserCache.get(EMAIL).orElseThrow();
+
+        UploadedResume resume = new UploadedResume();
+        resume.setTitle("resume.pdf");
+        resume.setCreatedAt(Instant.now());
+        resume.setUser(principal.toUser());
+        UploadedResume saved = uploadedResumeRepository.saveAndFlush(resume);
+        entityManager.clear();
+
+        assertNotNull(saved.getId());
+        assertEquals(1, uploadedResumeRepository.findByUser(principal.toUser()).size());
+    }
+}
@@ -0,0 +1,199 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.entity.Education;
+import ninjas.cs490Project.entity.JobDescription;
+import ninjas.cs490Project.entity.Skill;
+import ninjas.cs490Project.entity.User;
+import ninjas.cs490Project.entity.WorkExperience;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic sample data for the JMH benchmarks: career data, GPT responses and a
+ * generated PDF/DOCX resume corpus, so no binary fixtures live in the repository.
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] SKILLS = {
+            "Java", "Spring Boot", "SQL", "MySQL", "Docker", "Kubernetes", "React", "TypeScript",
+            "AWS", "CI/CD", "REST APIs", "Microservices", "Kafka", "Redis", "Git", "Linux"
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1);
+        user.setEmail("bench@example.com");
+        user.setUsername("bench@example.com");
+        user.setFirstName("Jordan");
+        user.setLastName("Rivera");
+        return user;
+    }
+
+    static JobDescription jobDescription() {
+        JobDescription job = new JobDescription();
+        job.setJobTitle("Senior Backend Engineer");
+        job.setJobDescription(("We are hiring a backend engineer to design, build and operate Java and Spring Boot "
+                + "services on Kubernetes. You will own REST APIs, data models in MySQL, event streams on Kafka "
+                + "and the CI/CD pipeline, and mentor other engineers. ").repeat(6));
+        return job;
+    }
+
+    static List<WorkExperience> workExperiences(int count) {
+        List<WorkExperience> experiences = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            WorkExperience experience = new WorkExperience();
+            experience.setCompany("Company " + i);
+            experience.setJobTitle(i % 2 == 0 ? "Software Engineer" : "Backend Developer");
+            experience.setStartDate(LocalDate.of(2012 + i, 1, 1));
+            experience.setEndDate(i == count - 1 ? null : LocalDate.of(2013 + i, 6, 30));
+            experience.setResponsibilities(("Built and maintained Spring Boot services, reviewed code, "
+                    + "and handled on-call for the payments platform. ").repeat(3));
+            experience.setAccomplishments(("Cut p99 latency by 40% and reduced cloud spend by 25% "
+                    + "by consolidating services. ").repeat(2));
+            experiences.add(experience);
+        }
+        return experiences;
+    }
+
+    static List<Education> educationList() {
+        Education education = new Education();
+        education.setInstitution("State University");
+        education.setDegree("B.S.");
+        education.setFieldOfStudy("Computer Science");
+        education.setStartDate(LocalDate.of(2008, 9, 1));
+        education.setEndDate(LocalDate.of(2012, 5, 31));
+        education.setGpa(3.6);
+        education.setDescription("Dean's list; teaching assistant for data structures.");
+        return List.of(education);
+    }
+
+    static List<Skill> skills() {
+        List<Skill> skills = new ArrayList<>();
+        for (String name : SKILLS) {
+            Skill skill = new Skill();
+            skill.setName(name);
+            skills.add(skill);
+        }
+        return skills;
+    }
+
+    static List<String> rawSkillNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = SKILLS[i % SKILLS.length];
+            names.add(i % 3 == 0 ? "  " + name.toUpperCase() + " " : name);
+        }
+        return names;
+    }
+
+    /**
+     * A chat-completions envelope whose message content is the given JSON document.
+     */
+    static String gptResponse(String contentJson) {
+        String escaped = contentJson.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return "{\"id\":\"chatcmpl-bench\",\"object\":\"chat.completion\",\"model\":\"gpt-4o-mini\","
+                + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"" + escaped + "\"},"
+                + "\"finish_reason\":\"stop\"}],"
+                + "\"usage\":{\"prompt_tokens\":1200,\"completion_tokens\":900,\"total_tokens\":2100}}";
+    }
+
+    static String resumeJson(int jobs, boolean withPersonalInfo) {
+        StringBuilder json = new StringBuilder("{");
+        if (withPersonalInfo) {
+            json.append("\"personalInfo\":{\"firstName\":\"Jordan\",\"lastName\":\"Rivera\",")
+                    .append("\"email\":\"bench@example.com\",\"phone\":\"555-0100\",\"address\":\"Newark, NJ\"},");
+        }
+        json.append("\"skills\":[");
+        for (int i = 0; i < SKILLS.length; i++) {
+            json.append(i > 0 ? "," : "").append('"').append(SKILLS[i]).append('"');
+        }
+        json.append("],\"educationList\":[{\"institution\":\"State University\",\"degree\":\"B.S.\",")
+                .append("\"fieldOfStudy\":\"Computer Science\",\"startDate\":\"2008-09-01\",")
+                .append("\"endDate\":\"2012-05-31\",\"description\":\"Dean's list\",\"gpa\":3.6}],")
+                .append("\"workExperienceList\":[");
+        for (int i = 0; i < jobs; i++) {
+            json.append(i > 0 ? "," : "")
+                    .append("{\"company\":\"Company ").append(i).append("\",\"jobTitle\":\"Software Engineer\",")
+                    .append("\"startDate\":\"").append(2012 + i).append("-01-01\",\"endDate\":\"")
+                    .append(2013 + i).append("-06-30\",\"responsibilities\":\"")
+                    .append("- Built and maintained Spring Boot services\\n- Reviewed code and mentored engineers")
+                    .append("\",\"accomplishments\":\"- Cut p99 latency by 40%\\n- Reduced cloud spend by 25%\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    static String resumeText(int pages) {
+        StringBuilder text = new StringBuilder("Jordan Rivera\nbench@example.com | 555-0100\n\n");
+        for (int page = 0; page < pages; page++) {
+            text.append("EXPERIENCE\n");
+            for (WorkExperience experience : workExperiences(4)) {
+                text.append(experience.getJobTitle()).append(", ").append(experience.getCompany()).append('\n')
+                        .append(experience.getResponsibilities()).append('\n')
+                        .append(experience.getAccomplishments()).append("\n\n");
+            }
+            text.append("SKILLS\n").append(String.join(", ", SKILLS)).append("\n\n");
+        }
+        return text.toString();
+    }
+
+    static byte[] pdf(String text) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            List<String> lines = wrap(text, 95);
+            int linesPerPage = 50;
+            for (int start = 0; start < lines.size(); start += linesPerPage) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 9);
+                    content.setLeading(13);
+                    content.newLineAtOffset(40, 750);
+                    for (String line : lines.subList(start, Math.min(lines.size(), start + linesPerPage))) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    static byte[] docx(String text) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (String paragraph : text.split("\n")) {
+                document.createParagraph().createRun().setText(paragraph);
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static List<String> wrap(String text, int width) {
+        List<String> lines = new ArrayList<>();
+        for (String paragraph : text.split("\n")) {
+            String remaining = paragraph;
+            while (remaining.length() > width) {
+                int cut = remaining.lastIndexOf(' ', width);
+                cut = cut > 0 ? cut : width;
+                lines.add(remaining.substring(0, cut));
+                remaining = remaining.substring(cut).trim();
+            }
+            lines.add(remaining);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,75 @@
+package ninjas.cs490Project.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FairGenerationSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FairGenerationScheduler scheduler = new FairGenerationScheduler(meterRegistry, 2);
+    private final AtomicInteger started = new AtomicInteger();
+    private final List<Sinks.One<String>> running = new ArrayList<>();
+
+    @Test
+    void capsEachUserWithoutHoldingBackOthers() {
+        for (int i = 0; i < 5; i++) {
+            scheduler.schedule(1, work()).subscribe();
+        }
+        assertEquals(2, started.get());
+        assertEquals(3.0, waitingGauge());
+
+        // Another user's job starts straight away
+        scheduler.schedule(2, work()).subscribe();
+        assertEquals(3, started.get());
+
+        // Each finished job hands its slot to the same user's next one
+        running.get(0).tryEmitValue("done");
+        assertEquals(4, started.get());
+        running.get(1).tryEmitError(new IllegalStateException("failed"));
+        assertEquals(5, started.get());
+        assertEquals(1.0, waitingGauge());
+    }
+
+    @Test
+    void jobCancelledWhileWaitingGivesUpItsTurn() {
+        scheduler.schedule(1, work()).subscribe();
+        scheduler.schedule(1, work()).subscribe();
+        Disposable cancelled = scheduler.schedule(1, work()).subscribe();
+        scheduler.schedule(1, work()).subscribe();
+        cancelled.dispose();
+
+        running.get(0).tryEmitValue("done");
+        running.get(1).tryEmitValue("done");
+        // The cancelled job never ran, and its turn went to the job behind it
+        assertEquals(3, started.get());
+        assertEquals(0.0, waitingGauge());
+
+        // One slot in use, so of two more jobs one starts and one waits
+        scheduler.schedule(1, work()).subscribe();
+        scheduler.schedule(1, work()).subscribe();
+        assertEquals(4, started.get());
+        assertEquals(1.0, waitingGauge());
+    }
+
+    private Mono<String> work() {
+        return Mono.defer(() -> {
+            started.incrementAndGet();
+            Sinks.One<String> sink = Sinks.one();
+            running.add(sink);
+            return sink.asMono();
+        });
+    }
+
+    private double waitingGauge() {
+        return meterRegistry.get("resume.generation.batch.waiting").gauge().value();
+    }
+}
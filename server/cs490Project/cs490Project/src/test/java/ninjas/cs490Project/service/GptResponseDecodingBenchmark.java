@@ -0,0 +1,95 @@
+package ninjas.cs490Project.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ninjas.cs490Project.dto.GPTResponse;
+import ninjas.cs490Project.dto.ResumeGenerationResult;
+import ninjas.cs490Project.dto.ResumeParsingResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LlmClient decoding of a chat-completions response into ResumeParsingResult and
+ * ResumeGenerationResult: the single pass over the body's bytes (decode*) against the
+ * previous two passes, body String to GPTResponse and then its content String to the
+ * result (twoPass*).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class GptResponseDecodingBenchmark {
+
+    @Param({"3", "20"})
+    private int jobs;
+
+    private LlmClient llmClient;
+    private ObjectMapper objectMapper;
+    private byte[] parsingResponse;
+    private byte[] generationResponse;
+
+    @Setup
+    public void setUp() {
+        Duration timeout = Duration.ofSeconds(10);
+        llmClient = new LlmClient(WebClient.builder(), Runnable::run, new SimpleMeterRegistry(), "http://localhost",
+                1, 1, timeout, timeout, timeout, timeout);
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+        parsingResponse = BenchmarkFixtures.gptResponse(BenchmarkFixtures.resumeJson(jobs, false))
+                .getBytes(StandardCharsets.UTF_8);
+        generationResponse = BenchmarkFixtures.gptResponse(BenchmarkFixtures.resumeJson(jobs, true))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        llmClient.shutdown();
+    }
+
+    @Benchmark
+    public ResumeParsingResult decodeParsingResult() throws Exception {
+        return llmClient.decode(parsingResponse, ResumeParsingResult.class);
+    }
+
+    @Benchmark
+    public ResumeGenerationResult decodeGenerationResult() throws Exception {
+        return llmClient.decode(generationResponse, ResumeGenerationResult.class);
+    }
+
+    @Benchmark
+    public ResumeParsingResult twoPassParsingResult() throws Exception {
+        return twoPass(parsingResponse, ResumeParsingResult.class);
+    }
+
+    @Benchmark
+    public ResumeGenerationResult twoPassGenerationResult() throws Exception {
+        return twoPass(generationResponse, ResumeGenerationResult.class);
+    }
+
+    // Body decoded to a String as bodyToMono(String.class) did, then read twice
+    private <T> T twoPass(byte[] body, Class<T> resultType) throws Exception {
+        GPTResponse envelope = objectMapper.readValue(new String(body, StandardCharsets.UTF_8), GPTResponse.class);
+        return objectMapper.readValue(envelope.getChoices().get(0).getMessage().getContent(), resultType);
+    }
+}
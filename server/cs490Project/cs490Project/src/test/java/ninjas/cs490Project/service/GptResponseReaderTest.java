@@ -0,0 +1,83 @@
+package ninjas.cs490Project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import ninjas.cs490Project.dto.GPTResponse;
+import ninjas.cs490Project.dto.ResumeGenerationResult;
+import ninjas.cs490Project.dto.ResumeParsingResult;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GptResponseReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+    private final GptResponseReader reader = new GptResponseReader(objectMapper);
+
+    @Test
+    void readsTheSameResultAsTheTwoPassDecoding() throws Exception {
+        String response = BenchmarkFixtures.gptResponse(BenchmarkFixtures.resumeJson(3, true));
+
+        GptResponseReader.Decoded<ResumeGenerationResult> decoded =
+                reader.read(response.getBytes(StandardCharsets.UTF_8), ResumeGenerationResult.class);
+
+        GPTResponse envelope = objectMapper.readValue(response, GPTResponse.class);
+        ResumeGenerationResult expected = objectMapper.readValue(
+                envelope.getChoices().get(0).getMessage().getContent(), ResumeGenerationResult.class);
+        assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(decoded.result()));
+        assertEquals("- Built and maintained Spring Boot services\n- Reviewed code and mentored engineers",
+                decoded.result().getWorkExperienceList().get(0).getResponsibilities());
+        assertEquals(1200, decoded.usage().getPromptTokens());
+        assertEquals(900, decoded.usage().getCompletionTokens());
+    }
+
+    @Test
+    void skipsFieldsAroundTheContentWhateverTheirOrder() throws Exception {
+        String response = "{\"usage\":{\"prompt_tokens\":7,\"completion_tokens\":3},\"extra\":[{\"a\":[1,2]}],"
+                + "\"choices\":[{\"index\":0,\"logprobs\":{\"content\":\"x\"},\"message\":{\"role\":\"assistant\","
+                + "\"refusal\":null,\"content\":\"{\\\"skills\\\":[\\\"Java\\\",\\\"C\\u002B\\u002B\\\"]}\","
+                + "\"tool_calls\":[]},\"finish_reason\":\"stop\"},{\"index\":1,\"message\":{\"content\":\"{}\"}}],"
+                + "\"model\":\"gpt-4o-mini\"}";
+
+        GptResponseReader.Decoded<ResumeParsingResult> decoded =
+                reader.read(response.getBytes(StandardCharsets.UTF_8), ResumeParsingResult.class);
+
+        assertEquals(List.of("Java", "C++"), decoded.result().getSkills());
+        assertEquals(7, decoded.usage().getPromptTokens());
+    }
+
+    @Test
+    void separatesEnvelopeFailuresFromContentFailures() {
+        byte[] noChoices = "{\"choices\":[],\"usage\":null}".getBytes(StandardCharsets.UTF_8);
+        byte[] nullContent = "{\"choices\":[{\"message\":{\"content\":null}}]}".getBytes(StandardCharsets.UTF_8);
+        byte[] truncated = "{\"choices\":[{\"message\":".getBytes(StandardCharsets.UTF_8);
+        byte[] badContent = "{\"choices\":[{\"message\":{\"content\":\"{\\\"skills\\\":\"}}]}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IllegalStateException.class, () -> reader.read(noChoices, ResumeParsingResult.class));
+        assertThrows(IllegalStateException.class, () -> reader.read(nullContent, ResumeParsingResult.class));
+        assertThrows(IllegalStateException.class, () -> reader.read(truncated, ResumeParsingResult.class));
+        GptResponseReader.ContentException e = assertThrows(GptResponseReader.ContentException.class,
+                () -> reader.read(badContent, ResumeParsingResult.class));
+        assertEquals("{\"skills\":", e.content());
+        assertInstanceOf(JsonProcessingException.class, e.getCause());
+    }
+
+    @Test
+    void usageIsOptional() throws Exception {
+        byte[] response = "{\"choices\":[{\"message\":{\"content\":\"{}\"}}]}".getBytes(StandardCharsets.UTF_8);
+
+        assertNull(reader.read(response, ResumeParsingResult.class).usage());
+    }
+}
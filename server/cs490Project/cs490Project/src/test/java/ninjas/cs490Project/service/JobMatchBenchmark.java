@@ -0,0 +1,57 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.entity.Education;
+import ninjas.cs490Project.entity.JobDescription;
+import ninjas.cs490Project.entity.Skill;
+import ninjas.cs490Project.entity.WorkExperience;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JobMatchScorer.match (the /api/jobs/{id}/match computation, without the queries)
+ * for small and large career histories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class JobMatchBenchmark {
+
+    @Param({"3", "20"})
+    private int jobs;
+
+    private JobMatchScorer scorer;
+    private JobDescription jobDescription;
+    private List<WorkExperience> workExperiences;
+    private List<Education> educationList;
+    private List<Skill> skills;
+
+    @Setup
+    public void setUp() {
+        scorer = new JobMatchScorer(new SkillTaxonomy(new ClassPathResource("skills/taxonomy.txt")));
+        jobDescription = BenchmarkFixtures.jobDescription();
+        workExperiences = BenchmarkFixtures.workExperiences(jobs);
+        educationList = BenchmarkFixtures.educationList();
+        skills = BenchmarkFixtures.skills();
+    }
+
+    @Benchmark
+    public JobMatchScorer.JobMatch match() {
+        return scorer.match(jobDescription, workExperiences, educationList, skills);
+    }
+}
@@ -0,0 +1,79 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.entity.Education;
+import ninjas.cs490Project.entity.JobDescription;
+import ninjas.cs490Project.entity.Skill;
+import ninjas.cs490Project.entity.WorkExperience;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobMatchScorerTest {
+
+    private final JobMatchScorer scorer =
+            new JobMatchScorer(new SkillTaxonomy(new ClassPathResource("skills/taxonomy.txt")));
+
+    @Test
+    void ranksRelevantEntriesFirstAndReportsMissingKeywords() {
+        JobDescription job = new JobDescription();
+        job.setJobTitle("Backend Engineer");
+        job.setJobDescription("Build Java microservices that consume Kafka event streams and run on k8s. "
+                + "Payments domain knowledge is a plus; payments experience preferred.");
+
+        WorkExperience retail = experience(1, "Store Associate", "Stocked shelves and helped customers.");
+        WorkExperience backend = experience(2, "Software Engineer",
+                "Built Java services for the payments team that consume Apache Kafka topics.");
+        WorkExperience frontend = experience(3, "Frontend Developer", "Built React.js pages for payments checkout.");
+        Education education = new Education();
+        education.setId(4);
+        education.setInstitution("State University");
+        education.setDegree("B.S.");
+        education.setFieldOfStudy("Computer Science");
+        Skill go = new Skill();
+        go.setId(5L);
+        go.setName("Go");
+        Skill docker = new Skill();
+        docker.setId(6L);
+        docker.setName("kubernetes");
+
+        JobMatchScorer.JobMatch match = scorer.match(job, List.of(retail, backend, frontend),
+                List.of(education), List.of(go, docker));
+
+        assertEquals(2L, match.entries().get(0).id());
+        assertEquals("experience", match.entries().get(0).type());
+        assertTrue(match.entries().get(0).matchedKeywords().containsAll(List.of("Java", "Apache Kafka", "payments")));
+        assertTrue(match.entries().stream().noneMatch(entry -> entry.id() == 1L && entry.type().equals("experience")));
+        assertTrue(match.matchedKeywords().containsAll(List.of("Java", "Apache Kafka", "Kubernetes", "payments")));
+        assertTrue(match.missingKeywords().contains("Microservices"));
+        assertTrue(match.matchScore() > 0 && match.matchScore() < 100, "score: " + match.matchScore());
+    }
+
+    @Test
+    void scoresExperiencesInListOrder() {
+        JobDescription job = new JobDescription();
+        job.setJobTitle("Data Engineer");
+        job.setJobDescription("Python and Apache Spark pipelines.");
+
+        double[] scores = scorer.scoreExperiences(job, List.of(
+                experience(1, "Cook", "Prepared meals."),
+                experience(2, "Data Engineer", "Wrote PySpark jobs in Python.")));
+
+        assertEquals(0.0, scores[0]);
+        assertTrue(scores[1] > 0);
+    }
+
+    private static WorkExperience experience(int id, String title, String responsibilities) {
+        WorkExperience experience = new WorkExperience();
+        experience.setId(id);
+        experience.setCompany("Company " + id);
+        experience.setJobTitle(title);
+        experience.setStartDate(LocalDate.of(2010 + id, 1, 1));
+        experience.setResponsibilities(responsibilities);
+        return experience;
+    }
+}
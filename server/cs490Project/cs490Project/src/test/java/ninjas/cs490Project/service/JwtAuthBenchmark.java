@@ -0,0 +1,70 @@
+package ninjas.cs490Project.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import ninjas.cs490Project.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling on the JWTAuthenticationFilter hot path.
+ * before: what the filter did originally (validateToken, then extractUsername,
+ * each building a parser and verifying the HMAC).
+ * singleParse: one verification with a prebuilt parser (a verified-cache miss).
+ * verifyCached: JWTService.verify for a token seen before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "MyUltraSecureSuperDuperSecretKey_12345!!!";
+
+    private JWTService jwtService;
+    private Key key;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JWTService(SECRET, 10_000);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+        User user = new User();
+        user.setEmail("bench@example.com");
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String before() {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return parser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String verifyCached() {
+        return jwtService.verify(token).map(Claims::getSubject).orElseThrow();
+    }
+}
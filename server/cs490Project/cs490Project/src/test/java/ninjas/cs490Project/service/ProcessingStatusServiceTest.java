@@ -0,0 +1,60 @@
+package ninjas.cs490Project.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import ninjas.cs490Project.entity.ProcessingStatus;
+import ninjas.cs490Project.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({ProcessingStatusService.class, SimpleMeterRegistry.class})
+class ProcessingStatusServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProcessingStatusService processingStatusService;
+
+    @MockBean
+    private StatusEventHub statusEventHub;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User();
+        user.setUsername("status-user");
+        user.setFirstName("Status");
+        user.setLastName("User");
+        user.setEmail("status@example.com");
+        user.setPasswordHash("x");
+        entityManager.persist(user);
+        entityManager.flush();
+    }
+
+    @Test
+    void finishedStatusIsNotOverwritten() {
+        ProcessingStatus status = processingStatusService.createProcessingStatus(
+                user, ProcessingStatus.ProcessingType.GENERATED_RESUME, 1L);
+        processingStatusService.startProcessing(status.getId());
+        processingStatusService.completeProcessing(status.getId());
+
+        processingStatusService.failProcessing(status.getId(), "late batch failure");
+
+        ProcessingStatus stored = processingStatusService.getStatusById(status.getId());
+        assertEquals(ProcessingStatus.Status.COMPLETED, stored.getStatus());
+        assertNull(stored.getErrorMessage());
+    }
+}
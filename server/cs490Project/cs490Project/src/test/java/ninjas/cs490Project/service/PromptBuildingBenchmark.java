@@ -0,0 +1,60 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.entity.Education;
+import ninjas.cs490Project.entity.JobDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ninjas.cs490Project.entity.Skill;
+import ninjas.cs490Project.entity.WorkExperience;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResumePromptBuilder for small, large and over-budget career histories, with the
+ * default 4000-token budget. Includes the token counting the budget needs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class PromptBuildingBenchmark {
+
+    @Param({"3", "20", "100"})
+    private int jobs;
+
+    private JobDescription jobDescription;
+    private List<WorkExperience> workExperiences;
+    private List<Education> educationList;
+    private List<Skill> skills;
+    private ResumePromptBuilder resumePromptBuilder;
+
+    @Setup
+    public void setUp() {
+        jobDescription = BenchmarkFixtures.jobDescription();
+        workExperiences = BenchmarkFixtures.workExperiences(jobs);
+        educationList = BenchmarkFixtures.educationList();
+        skills = BenchmarkFixtures.skills();
+        SkillTaxonomy taxonomy = new SkillTaxonomy(new ClassPathResource("skills/taxonomy.txt"));
+        resumePromptBuilder = new ResumePromptBuilder(taxonomy, new JobMatchScorer(taxonomy),
+                new TokenEstimator(), new SimpleMeterRegistry(), 4000);
+    }
+
+    @Benchmark
+    public ResumePromptBuilder.Prompt buildPrompt() {
+        return resumePromptBuilder.build(jobDescription, workExperiences, educationList, skills);
+    }
+}
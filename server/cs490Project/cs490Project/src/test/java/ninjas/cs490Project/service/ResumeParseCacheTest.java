@@ -0,0 +1,71 @@
+package ninjas.cs490Project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ninjas.cs490Project.dto.ResumeParsingResult;
+import ninjas.cs490Project.entity.ParsedResumeCacheEntry;
+import ninjas.cs490Project.repository.ParsedResumeCacheRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class ResumeParseCacheTest {
+
+    @Autowired
+    private ParsedResumeCacheRepository parsedResumeCacheRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void entryFromAnotherParserIsAMissAndIsReplaced() {
+        String contentHash = ResumeParseCache.sha256("resume".getBytes(StandardCharsets.UTF_8));
+        cache("old-parser").put(contentHash, "text", parsingResult("JS"), 1200L);
+
+        ResumeParseCache current = cache("new-parser");
+        assertTrue(current.get(contentHash).isEmpty());
+
+        current.put(contentHash, "text", parsingResult("JavaScript"), 900L);
+
+        ParsedResumeCacheEntry stored = parsedResumeCacheRepository.findByContentHash(contentHash).orElseThrow();
+        assertEquals("new-parser", stored.getParserFingerprint());
+        assertEquals(1, parsedResumeCacheRepository.count());
+        assertEquals(List.of("JavaScript"),
+                cache("new-parser").get(contentHash).orElseThrow().parsingResult().getSkills());
+    }
+
+    @Test
+    void entryWithoutFingerprintIsAMiss() {
+        ParsedResumeCacheEntry legacy = new ParsedResumeCacheEntry();
+        legacy.setContentHash("legacy");
+        legacy.setParsingResult("{\"skills\":[\"Java\"]}");
+        parsedResumeCacheRepository.save(legacy);
+
+        assertTrue(cache("new-parser").get("legacy").isEmpty());
+    }
+
+    // Each instance has its own memory cache, so lookups go to the stored entry
+    private ResumeParseCache cache(String fingerprint) {
+        ResumeParsingService resumeParsingService = mock(ResumeParsingService.class);
+        when(resumeParsingService.parserFingerprint()).thenReturn(fingerprint);
+        return new ResumeParseCache(parsedResumeCacheRepository, objectMapper, resumeParsingService,
+                new SimpleMeterRegistry(), 10);
+    }
+
+    private static ResumeParsingResult parsingResult(String skill) {
+        ResumeParsingResult parsingResult = new ResumeParsingResult();
+        parsingResult.setSkills(List.of(skill));
+        return parsingResult;
+    }
+}
@@ -0,0 +1,199 @@
+package ninjas.cs490Project.service;
+
+import jakarta.persistence.EntityManager;
+import ninjas.cs490Project.dto.EducationData;
+import ninjas.cs490Project.dto.ResumeParsingResult;
+import ninjas.cs490Project.dto.WorkExperienceData;
+import ninjas.cs490Project.entity.Skill;
+import ninjas.cs490Project.entity.User;
+import ninjas.cs490Project.repository.EducationRepository;
+import ninjas.cs490Project.repository.SkillRepository;
+import ninjas.cs490Project.repository.WorkExperienceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC round trips (statement executions, a batch counting once) that
+ * saving one parsed resume costs, and checks nothing is lost or duplicated.
+ */
+@DataJpaTest(properties = {
+        // MySQL mode for the ON DUPLICATE KEY skill upsert
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:resume-persistence;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({ResumePersistenceService.class, SkillService.class, SkillTaxonomy.class, ResumePersistenceServiceTest.RoundTripCounter.class})
+class ResumePersistenceServiceTest {
+
+    private static final int EDUCATION = 3;
+    private static final int JOBS = 8;
+    private static final int SKILLS = 25;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ResumePersistenceService resumePersistenceService;
+
+    @Autowired
+    private EducationRepository educationRepository;
+
+    @Autowired
+    private WorkExperienceRepository workExperienceRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private RoundTripCounter roundTrips;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User();
+        user.setUsername("parsed-user");
+        user.setFirstName("Parsed");
+        user.setLastName("User");
+        user.setEmail("parsed@example.com");
+        user.setPasswordHash("x");
+        entityManager.persist(user);
+
+        // Already on the profile; the parse repeats them in other cases
+        for (String name : List.of("Java", "SQL")) {
+            Skill skill = new Skill();
+            skill.setName(name);
+            skill.setUser(user);
+            entityManager.persist(skill);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void savesParsedResumeInAFewRoundTrips() {
+        ResumeParsingResult parsingResult = parsingResult();
+
+        roundTrips.reset();
+        resumePersistenceService.saveParsedResume(user, parsingResult);
+        entityManager.flush();
+        int used = roundTrips.count();
+
+        assertEquals(EDUCATION, educationRepository.findByUserId(user.getId()).size());
+        assertEquals(JOBS, workExperienceRepository.findByUserId(user.getId()).size());
+        // Two were already there and the repeats in other cases are dropped
+        assertEquals(SKILLS + 2, skillRepository.findByUser(user).size());
+        // One batch per table plus the lookup of the stored skills, independent of the row counts
+        assertTrue(used <= 4, "round trips: " + used);
+    }
+
+    private ResumeParsingResult parsingResult() {
+        List<EducationData> educationList = new ArrayList<>();
+        for (int i = 0; i < EDUCATION; i++) {
+            EducationData education = new EducationData();
+            education.setInstitution("University " + i);
+            education.setDegree("B.S.");
+            education.setFieldOfStudy("Computer Science");
+            education.setStartDate("2008-09-01");
+            education.setEndDate("2012-05-31");
+            education.setDescription("Dean's list");
+            education.setGpa(3.5);
+            educationList.add(education);
+        }
+        List<WorkExperienceData> workExperienceList = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            WorkExperienceData job = new WorkExperienceData();
+            job.setCompany("Company " + i);
+            job.setJobTitle("Engineer");
+            job.setStartDate("201" + i + "-01-01");
+            job.setEndDate(i == JOBS - 1 ? "N/A" : "201" + (i + 1) + "-01-01");
+            job.setResponsibilities("- Built services");
+            job.setAccomplishments("- Cut latency");
+            workExperienceList.add(job);
+        }
+        List<String> skills = new ArrayList<>(List.of(" java ", "SQL"));
+        for (int i = 0; i < SKILLS; i++) {
+            skills.add("Skill " + i);
+            if (i % 5 == 0) {
+                skills.add(("skill " + i).toUpperCase(Locale.ROOT));
+            }
+        }
+
+        ResumeParsingResult parsingResult = new ResumeParsingResult();
+        parsingResult.setEducationList(educationList);
+        parsingResult.setWorkExperienceList(workExperienceList);
+        parsingResult.setSkills(skills);
+        return parsingResult;
+    }
+
+    /**
+     * Wraps the DataSource so every statement execution is counted.
+     */
+    @TestConfiguration
+    static class RoundTripCounter implements BeanPostProcessor {
+
+        private final AtomicInteger executions = new AtomicInteger();
+
+        void reset() {
+            executions.set(0);
+        }
+
+        int count() {
+            return executions.get();
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return proxy(DataSource.class, dataSource);
+            }
+            return bean;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T proxy(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute") && target instanceof Statement) {
+                    executions.incrementAndGet();
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection connection) {
+                    return proxy(Connection.class, connection);
+                }
+                if (result instanceof java.sql.CallableStatement) {
+                    return result;
+                }
+                if (result instanceof java.sql.PreparedStatement statement) {
+                    return proxy(java.sql.PreparedStatement.class, statement);
+                }
+                if (result instanceof Statement statement) {
+                    return proxy(Statement.class, statement);
+                }
+                return result;
+            });
+        }
+    }
+}
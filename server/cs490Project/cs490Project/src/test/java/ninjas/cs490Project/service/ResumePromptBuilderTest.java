@@ -0,0 +1,132 @@
+package ninjas.cs490Project.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ninjas.cs490Project.entity.Education;
+import ninjas.cs490Project.entity.JobDescription;
+import ninjas.cs490Project.entity.Skill;
+import ninjas.cs490Project.entity.WorkExperience;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumePromptBuilderTest {
+
+    private static final SkillTaxonomy TAXONOMY = new SkillTaxonomy(new ClassPathResource("skills/taxonomy.txt"));
+    private static final TokenEstimator TOKENS = new TokenEstimator();
+
+    @Test
+    void shortCareerIsSentInFull() {
+        ResumePromptBuilder.Prompt prompt = builder(4000).build(job(), careers(3), education(), skills());
+
+        assertFalse(prompt.trimmed());
+        assertEquals(3, prompt.experiencesInFull());
+        assertTrue(prompt.tokens() <= 4000);
+        assertEquals(TOKENS.count(prompt.text()), prompt.tokens());
+        assertTrue(prompt.text().contains("Dean's list"));
+        // Job skills first, spellings folded into one canonical name
+        assertTrue(prompt.text().contains("Skills: Java, Apache Kafka, Photography\n"), prompt.text());
+    }
+
+    @Test
+    void longCareerIsCondensedToTheBudgetKeepingEveryJob() {
+        List<WorkExperience> careers = careers(40);
+        careers.get(7).setResponsibilities("Ran the Kafka event streaming platform and its consumers in Java.");
+
+        ResumePromptBuilder.Prompt prompt = builder(2500).build(job(), careers, education(), skills());
+
+        assertTrue(prompt.trimmed());
+        assertTrue(prompt.tokens() <= 2500, "tokens: " + prompt.tokens());
+        for (WorkExperience experience : careers) {
+            assertTrue(prompt.text().contains("Company: " + experience.getCompany() + "\n"));
+        }
+        // The job that matches the description is kept in full
+        assertTrue(prompt.text().contains("Ran the Kafka event streaming platform"));
+        assertTrue(prompt.experiencesInFull() < 40);
+    }
+
+    @Test
+    void longJobDescriptionIsCutToHalfTheBudget() {
+        JobDescription job = job();
+        job.setJobDescription("Build Java services that consume Kafka event streams. ".repeat(400));
+
+        ResumePromptBuilder.Prompt prompt = builder(2500).build(job, careers(3), education(), skills());
+
+        assertFalse(prompt.jobDescriptionInFull());
+        assertTrue(prompt.trimmed());
+        assertFalse(prompt.overBudget());
+        assertTrue(prompt.tokens() <= 2500, "tokens: " + prompt.tokens());
+        assertTrue(prompt.text().contains("Company: Company 2\n"));
+    }
+
+    @Test
+    void headersOverTheBudgetAreReportedNotDropped() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<WorkExperience> careers = careers(200);
+
+        ResumePromptBuilder.Prompt prompt = builder(2500, meterRegistry).build(job(), careers, education(), skills());
+
+        assertTrue(prompt.overBudget());
+        assertTrue(prompt.tokens() > 2500);
+        assertTrue(prompt.text().contains("Company: Company 199\n"));
+        assertEquals(1, meterRegistry.get("resume.prompt.tokens").tag("over_budget", "true").summary().count());
+    }
+
+    private static ResumePromptBuilder builder(int maxTokens) {
+        return builder(maxTokens, new SimpleMeterRegistry());
+    }
+
+    private static ResumePromptBuilder builder(int maxTokens, SimpleMeterRegistry meterRegistry) {
+        return new ResumePromptBuilder(TAXONOMY, new JobMatchScorer(TAXONOMY), TOKENS, meterRegistry, maxTokens);
+    }
+
+    private static JobDescription job() {
+        JobDescription job = new JobDescription();
+        job.setJobTitle("Backend Engineer");
+        job.setJobDescription("Build Java services that consume Kafka event streams.");
+        return job;
+    }
+
+    private static List<WorkExperience> careers(int count) {
+        List<WorkExperience> experiences = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            WorkExperience experience = new WorkExperience();
+            experience.setCompany("Company " + i);
+            experience.setJobTitle("Store Associate");
+            experience.setStartDate(LocalDate.of(1980 + i, 1, 1));
+            experience.setEndDate(LocalDate.of(1981 + i, 1, 1));
+            experience.setResponsibilities("- Stocked shelves and helped customers find products\n".repeat(3));
+            experience.setAccomplishments("- Employee of the month for consistent customer praise\n".repeat(2));
+            experiences.add(experience);
+        }
+        return experiences;
+    }
+
+    private static List<Education> education() {
+        Education education = new Education();
+        education.setInstitution("State University");
+        education.setDegree("B.S.");
+        education.setFieldOfStudy("Computer Science");
+        education.setStartDate(LocalDate.of(1976, 9, 1));
+        education.setEndDate(LocalDate.of(1980, 5, 31));
+        education.setGpa(3.6);
+        education.setDescription("Dean's list");
+        return List.of(education);
+    }
+
+    private static List<Skill> skills() {
+        List<Skill> skills = new ArrayList<>();
+        for (String name : List.of("Photography", "java", "kafka", "Java ")) {
+            Skill skill = new Skill();
+            skill.setName(name);
+            skills.add(skill);
+        }
+        return skills;
+    }
+}
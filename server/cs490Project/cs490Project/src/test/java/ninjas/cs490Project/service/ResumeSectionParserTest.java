@@ -0,0 +1,91 @@
+package ninjas.cs490Project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ninjas.cs490Project.dto.EducationData;
+import ninjas.cs490Project.dto.ResumeGenerationResult;
+import ninjas.cs490Project.dto.WorkExperienceData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResumeSectionParserTest {
+
+    private static final String CONTENT = "{\"skills\":[\"Java\",\"Spring Boot\",\"Kafka\"],"
+            + "\"workExperienceList\":[{\"company\":\"Acme\",\"jobTitle\":\"Engineer\",\"startDate\":\"2015-01-01\","
+            + "\"endDate\":\"2020-01-01\",\"responsibilities\":\"• Built “fast” services\",\"accomplishments\":\"Cut p99 by 40%\"},"
+            + "{\"company\":\"Initech\",\"jobTitle\":\"Lead\",\"startDate\":\"2020-02-01\",\"endDate\":\"\","
+            + "\"responsibilities\":\"Led a team\",\"accomplishments\":\"\",\"team\":{\"size\":5}}],"
+            + "\"educationList\":[{\"institution\":\"State University\",\"degree\":\"B.S.\",\"fieldOfStudy\":\"CS\","
+            + "\"startDate\":\"2011-09-01\",\"endDate\":\"2015-05-31\",\"description\":\"\",\"gpa\":3.7}]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void emitsEachSectionAsSoonAsItCloses() throws Exception {
+        List<ResumeSectionParser.Section> sections = new ArrayList<>();
+        List<Integer> emittedAt = new ArrayList<>();
+        int[] fed = {0};
+        ResumeSectionParser parser = new ResumeSectionParser(objectMapper, section -> {
+            sections.add(section);
+            emittedAt.add(fed[0]);
+        });
+
+        // Pieces of a few characters, split inside strings and around multi-byte characters
+        for (int i = 0; i < CONTENT.length(); i += 5) {
+            String piece = CONTENT.substring(i, Math.min(CONTENT.length(), i + 5));
+            fed[0] += piece.length();
+            parser.feed(piece);
+        }
+        ResumeGenerationResult result = parser.finish();
+
+        assertEquals(List.of("skills", "workExperience", "workExperience", "education"),
+                sections.stream().map(ResumeSectionParser.Section::name).toList());
+        assertEquals(List.of("Java", "Spring Boot", "Kafka"), sections.get(0).value());
+        // Each section arrived with the piece holding its closing bracket, not at the end
+        assertEquals(CONTENT.indexOf(']') + 1, emittedAt.get(0), 4);
+        assertEquals(CONTENT.indexOf("},{") + 1, emittedAt.get(1), 4);
+
+        WorkExperienceData first = (WorkExperienceData) sections.get(1).value();
+        assertEquals("Acme", first.getCompany());
+        assertEquals("• Built “fast” services", first.getResponsibilities());
+        assertEquals("Lead", ((WorkExperienceData) sections.get(2).value()).getJobTitle());
+        assertEquals(3.7, ((EducationData) sections.get(3).value()).getGpa());
+
+        assertEquals(objectMapper.readValue(CONTENT, ResumeGenerationResult.class), result);
+    }
+
+    @Test
+    void readsSingleValuesAsLists() throws Exception {
+        List<ResumeSectionParser.Section> sections = new ArrayList<>();
+        ResumeSectionParser parser = new ResumeSectionParser(objectMapper, sections::add);
+
+        parser.feed("{\"skills\":\"Java, SQL\",\"workExperienceList\":{\"company\":\"Acme\"},\"educationList\":[]}");
+        ResumeGenerationResult result = parser.finish();
+
+        assertEquals(List.of("Java, SQL"), sections.get(0).value());
+        assertEquals("Acme", ((WorkExperienceData) sections.get(1).value()).getCompany());
+        assertEquals(2, sections.size());
+        assertEquals("Acme", result.getWorkExperienceList().get(0).getCompany());
+    }
+
+    @Test
+    void failsOnTruncatedContent() throws Exception {
+        List<ResumeSectionParser.Section> sections = new ArrayList<>();
+        ResumeSectionParser parser = new ResumeSectionParser(objectMapper, sections::add);
+
+        parser.feed(CONTENT.substring(0, CONTENT.indexOf("\"educationList\"")));
+
+        assertEquals(3, sections.size());
+        assertThrows(JsonProcessingException.class, parser::finish);
+        assertThrows(JsonProcessingException.class,
+                () -> new ResumeSectionParser(objectMapper, sections::add).finish());
+    }
+}
@@ -0,0 +1,42 @@
+package ninjas.cs490Project.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SkillService.normalizeSkillName over a typical parsed skill list (50 names).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SkillNormalizationBenchmark {
+
+    private List<String> skillNames;
+
+    @Setup
+    public void setUp() {
+        skillNames = BenchmarkFixtures.rawSkillNames(50);
+    }
+
+    @Benchmark
+    public void normalizeSkillNames(Blackhole blackhole) {
+        for (String skillName : skillNames) {
+            blackhole.consume(SkillService.normalizeSkillName(skillName));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package ninjas.cs490Project.service;
+
+import jakarta.persistence.EntityManager;
+import ninjas.cs490Project.entity.Skill;
+import ninjas.cs490Project.entity.User;
+import ninjas.cs490Project.repository.SkillRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        // MySQL mode for the ON DUPLICATE KEY skill upsert
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:skills;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({SkillService.class, SkillTaxonomy.class, SkillKeyMigration.class})
+class SkillServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SkillService skillService;
+
+    @Autowired
+    private SkillKeyMigration migration;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User();
+        user.setUsername("skill-user");
+        user.setFirstName("Skill");
+        user.setLastName("User");
+        user.setEmail("skill@example.com");
+        user.setPasswordHash("x");
+        entityManager.persist(user);
+        entityManager.flush();
+    }
+
+    @Test
+    void addSkillsReturnsStoredSkillPerRequestedName() {
+        skillService.addSkill("Java", user);
+
+        List<Skill> skills = skillService.addSkills(List.of("Kotlin", "JAVA", "kotlin "), user);
+
+        assertEquals(3, skills.size());
+        assertEquals("Java", skills.get(1).getName());
+        assertNotNull(skills.get(0).getId());
+        assertSame(skills.get(0), skills.get(2));
+        assertEquals(2, skillRepository.findByUser(user).size());
+    }
+
+    @Test
+    void storesOneRowPerTaxonomySkill() {
+        List<Skill> skills = skillService.addSkills(List.of("JS", "Javascript", "JavaScript "), user);
+
+        assertEquals("JavaScript", skills.get(0).getName());
+        assertSame(skills.get(0), skills.get(2));
+        assertEquals(1, skillRepository.findByUser(user).size());
+    }
+
+    @Test
+    void uniqueKeyRejectsCaseVariantOfExistingSkill() {
+        skillService.addSkill("Java", user);
+
+        Skill duplicate = new Skill();
+        duplicate.setName(" java");
+        duplicate.setUser(user);
+
+        assertThrows(DataIntegrityViolationException.class, () -> skillRepository.saveAndFlush(duplicate));
+    }
+
+    @Test
+    void backfillNormalizesLegacyRowsAndDropsCaseDuplicates() {
+        for (String name : List.of("Java", "JAVA ", "Go")) {
+            jdbcTemplate.update("INSERT INTO skills (name, user_id) VALUES (?, ?)", name, user.getId());
+        }
+
+        migration.migrate();
+
+        List<String> normalized = jdbcTemplate.queryForList(
+                "SELECT normalized_name FROM skills WHERE user_id = ? ORDER BY id", String.class, user.getId());
+        assertEquals(List.of("java", "go"), normalized);
+        assertEquals("Java", skillService.addSkill("java", user).getName());
+    }
+
+    @Test
+    void migrationMergesLegacyRowsOntoTheirTaxonomyKey() {
+        // A database that predates the migration, keyed by LOWER(TRIM(name))
+        jdbcTemplate.update("DELETE FROM skill_key_version");
+        jdbcTemplate.update("INSERT INTO skills (name, normalized_name, user_id) VALUES ('JS', 'js', ?)", user.getId());
+        jdbcTemplate.update("INSERT INTO skills (name, normalized_name, user_id) VALUES ('javascript', 'javascript', ?)",
+                user.getId());
+        Long legacyId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM skills WHERE user_id = ?", Long.class, user.getId());
+
+        migration.migrate();
+
+        List<Skill> skills = skillService.addSkills(List.of("JavaScript"), user);
+        assertEquals(legacyId, skills.get(0).getId());
+        assertEquals("JavaScript", skills.get(0).getName());
+        assertEquals(1, skillRepository.findByUser(user).size());
+    }
+
+    @Test
+    void migrationRerunsOnlyWhenTheTaxonomyChanges() {
+        // The context's startup run has recorded the current taxonomy
+        jdbcTemplate.update("INSERT INTO skills (name, normalized_name, user_id) VALUES ('JS', 'js', ?)", user.getId());
+
+        migration.migrate();
+        assertEquals(List.of("js"), normalizedNames());
+
+        jdbcTemplate.update("UPDATE skill_key_version SET taxonomy_version = 'older'");
+        migration.migrate();
+        assertEquals(List.of("javascript"), normalizedNames());
+    }
+
+    private List<String> normalizedNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT normalized_name FROM skills WHERE user_id = ? ORDER BY id", String.class, user.getId());
+    }
+}
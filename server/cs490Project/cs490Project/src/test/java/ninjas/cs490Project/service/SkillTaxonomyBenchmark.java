@@ -0,0 +1,54 @@
+package ninjas.cs490Project.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SkillTaxonomy against the bundled dictionary: finding known skills in resume text
+ * of 1 and 5 pages, and canonicalizing a typical parsed skill list (50 names).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SkillTaxonomyBenchmark {
+
+    @Param({"1", "5"})
+    private int pages;
+
+    private SkillTaxonomy taxonomy;
+    private String resumeText;
+    private List<String> skillNames;
+
+    @Setup
+    public void setUp() {
+        taxonomy = new SkillTaxonomy(new ClassPathResource("skills/taxonomy.txt"));
+        resumeText = BenchmarkFixtures.resumeText(pages);
+        skillNames = BenchmarkFixtures.rawSkillNames(50);
+    }
+
+    @Benchmark
+    public List<String> extractFromResumeText() {
+        return taxonomy.extract(resumeText);
+    }
+
+    @Benchmark
+    public List<String> canonicalizeSkillNames() {
+        return taxonomy.canonicalizeAll(skillNames);
+    }
+}
@@ -0,0 +1,53 @@
+package ninjas.cs490Project.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SkillTaxonomyTest {
+
+    private final SkillTaxonomy taxonomy = new SkillTaxonomy(new ClassPathResource("skills/taxonomy.txt"));
+
+    @Test
+    void canonicalizesKnownSpellingsAndTrimsUnknownOnes() {
+        assertEquals("JavaScript", taxonomy.canonicalize("JS"));
+        assertEquals("JavaScript", taxonomy.canonicalize("Javascript"));
+        assertEquals("JavaScript", taxonomy.canonicalize("JavaScript "));
+        assertEquals("Go", taxonomy.canonicalize("golang"));
+        assertEquals("Basket Weaving", taxonomy.canonicalize("  Basket Weaving "));
+
+        assertEquals(List.of("JavaScript", "Kubernetes", "Basket Weaving"),
+                taxonomy.canonicalizeAll(List.of("js", "k8s", "JavaScript", "Basket Weaving", "Kubernetes", "basket weaving")));
+    }
+
+    @Test
+    void extractsWholeWordMentionsInOrderOfFirstMention() {
+        String text = """
+                Built React.js front ends and Spring Boot services in Java.
+                Deployed to AWS with k8s; JavaScript and java again.
+                Interested in machine
+                  learning. Go-getter who can excel under pressure.""";
+
+        assertEquals(List.of("React", "Spring Boot", "Java", "Amazon Web Services", "Kubernetes",
+                        "JavaScript", "Machine Learning"),
+                taxonomy.extract(text));
+    }
+
+    @Test
+    void findsOverlappingTermsThroughFailureLinks() {
+        SkillTaxonomy small = new SkillTaxonomy(new ByteArrayResource("""
+                # test dictionary
+                Sheets | she | =hers
+                Hers Dataset | hers dataset
+                C++ | cpp
+                """.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of("C++", "Sheets", "Hers Dataset"), small.extract("c++ and she ushers; hers dataset"));
+        assertEquals("Sheets", small.canonicalize("HERS"));
+    }
+}
@@ -0,0 +1,55 @@
+package ninjas.cs490Project.service;
+
+import ninjas.cs490Project.entity.ProcessingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StageTimingsTest {
+
+    @Test
+    void booksGapsBetweenStagesAsQueued() throws Exception {
+        StageTimings timings = new StageTimings(Instant.now().minusMillis(200));
+
+        timings.time(StageTimings.Stage.EXTRACTION, () -> sleep(50));
+        sleep(100);
+        timings.time(StageTimings.Stage.PERSISTENCE, () -> sleep(20));
+
+        assertTrue(timings.millis(StageTimings.Stage.QUEUED) >= 300, "queued " + timings.millis(StageTimings.Stage.QUEUED));
+        assertTrue(timings.millis(StageTimings.Stage.EXTRACTION) >= 50);
+        assertTrue(timings.millis(StageTimings.Stage.PERSISTENCE) >= 20);
+        assertTrue(timings.millis(StageTimings.Stage.QUEUED) < 1000);
+    }
+
+    @Test
+    void leavesStagesThatNeverRanNull() {
+        StageTimings timings = new StageTimings(Instant.now());
+        timings.begin(StageTimings.Stage.LLM_REQUEST);
+        // An error path ending a stage that is not running changes nothing
+        timings.end(StageTimings.Stage.LLM_PARSE);
+        timings.end(StageTimings.Stage.LLM_REQUEST);
+
+        ProcessingStatus status = new ProcessingStatus();
+        timings.applyTo(status);
+
+        assertNotNull(status.getQueuedMs());
+        assertNotNull(status.getLlmRequestMs());
+        assertNull(status.getLlmParseMs());
+        assertNull(status.getExtractionMs());
+        assertNull(status.getPersistenceMs());
+        assertEquals(5, StageTimings.durationsOf(status).size());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package ninjas.cs490Project.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ninjas.cs490Project.entity.FreeformEntry;
+import ninjas.cs490Project.entity.GeneratedResume;
+import ninjas.cs490Project.entity.JobDescription;
+import ninjas.cs490Project.entity.ProcessingStatus;
+import ninjas.cs490Project.entity.UploadedResume;
+import ninjas.cs490Project.entity.User;
+import ninjas.cs490Project.entity.WorkExperience;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements StatusDisplayNameResolver issues for pages of 3 and
+ * 300 statuses: the count must not grow with the page size.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import(StatusDisplayNameResolver.class)
+class StatusDisplayNameResolverTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatusDisplayNameResolver resolver;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User();
+        user.setUsername("status-user");
+        user.setFirstName("Status");
+        user.setLastName("User");
+        user.setEmail("status@example.com");
+        user.setPasswordHash("x");
+        entityManager.persist(user);
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithPageSize() {
+        List<ProcessingStatus> small = createStatuses(1);
+        List<ProcessingStatus> large = createStatuses(100);
+        entityManager.flush();
+        entityManager.clear();
+
+        long smallQueries = countQueries(small);
+        long largeQueries = countQueries(large);
+
+        assertEquals(3, small.size());
+        assertEquals(300, large.size());
+        // One projection query per processing type
+        assertEquals(3, smallQueries);
+        assertEquals(smallQueries, largeQueries);
+    }
+
+    @Test
+    void resolvesDisplayFieldsForEachType() {
+        List<ProcessingStatus> statuses = createStatuses(1);
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Long, Map<String, Object>> displayNames = resolver.resolve(statuses);
+
+        assertEquals("resume-0.pdf", displayNames.get(statuses.get(0).getId()).get("resumeName"));
+        assertEquals("Engineer 0", displayNames.get(statuses.get(1).getId()).get("jobTitle"));
+        assertTrue(displayNames.get(statuses.get(2).getId()).get("careerId") instanceof Integer);
+    }
+
+    private long countQueries(List<ProcessingStatus> statuses) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        resolver.resolve(statuses);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<ProcessingStatus> createStatuses(int perType) {
+        List<ProcessingStatus> statuses = new ArrayList<>();
+        for (int i = 0; i < perType; i++) {
+            UploadedResume uploaded = new UploadedResume();
+            uploaded.setTitle("resume-" + i + ".pdf");
+            uploaded.setUser(user);
+            entityManager.persist(uploaded);
+            statuses.add(status(ProcessingStatus.ProcessingType.UPLOADED_RESUME, uploaded.getId()));
+
+            JobDescription job = new JobDescription();
+            job.setJobTitle("Engineer " + i);
+            job.setUser(user);
+            entityManager.persist(job);
+            GeneratedResume generated = new GeneratedResume();
+            generated.setUser(user);
+            generated.setJobDescription(job);
+            entityManager.persist(generated);
+            statuses.add(status(ProcessingStatus.ProcessingType.GENERATED_RESUME, generated.getId()));
+
+            WorkExperience career = new WorkExperience();
+            career.setUser(user);
+            career.setCompany("Company " + i);
+            career.setJobTitle("Engineer");
+            career.setStartDate(LocalDate.of(2020, 1, 1));
+            entityManager.persist(career);
+            FreeformEntry freeform = new FreeformEntry();
+            freeform.setUser(user);
+            freeform.setRawText("text");
+            freeform.setWorkExperience(career);
+            entityManager.persist(freeform);
+            statuses.add(status(ProcessingStatus.ProcessingType.FREEFORM_ENTRY, freeform.getId().longValue()));
+        }
+        return statuses;
+    }
+
+    private ProcessingStatus status(ProcessingStatus.ProcessingType type, Long entityId) {
+        ProcessingStatus status = new ProcessingStatus();
+        status.setUser(user);
+        status.setProcessingType(type);
+        status.setEntityId(entityId);
+        status.setStatus(ProcessingStatus.Status.COMPLETED);
+        status.setStartedAt(Instant.now());
+        entityManager.persist(status);
+        return status;
+    }
+}
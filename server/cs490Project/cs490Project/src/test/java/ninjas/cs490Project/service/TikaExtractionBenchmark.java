@@ -0,0 +1,53 @@
+package ninjas.cs490Project.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResumeParsingService.extractText over a generated corpus of PDF and DOCX resumes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class TikaExtractionBenchmark {
+
+    @Param({"pdf", "docx"})
+    private String format;
+
+    @Param({"1", "4"})
+    private int pages;
+
+    private ResumeParsingService resumeParsingService;
+    private byte[] file;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Extraction does not touch the LLM client
+        resumeParsingService = new ResumeParsingService(null,
+                new SkillTaxonomy(new ClassPathResource("skills/taxonomy.txt")), new SimpleMeterRegistry());
+        String text = BenchmarkFixtures.resumeText(pages);
+        file = "pdf".equals(format) ? BenchmarkFixtures.pdf(text) : BenchmarkFixtures.docx(text);
+    }
+
+    @Benchmark
+    public String extractText() throws Exception {
+        return resumeParsingService.extractText(new ByteArrayInputStream(file));
+    }
+}